@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.6"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 apply("gradle/swagger.gradle.kts")
 
@@ -11,7 +12,7 @@ description = "Auth API"
 
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(17)
+        languageVersion = JavaLanguageVersion.of(21)
     }
 }
 
@@ -51,6 +52,9 @@ dependencies {
     implementation("io.jsonwebtoken:jjwt-api:0.13.0")
     runtimeOnly("io.jsonwebtoken:jjwt-impl:0.13.0")
     runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.13.0")
+
+    // Cache
+    implementation("com.github.ben-manes.caffeine:caffeine")
     
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -58,8 +62,27 @@ dependencies {
 
     // Actuator
 	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+// Benchmarks (src/jmh) : ./gradlew jmh, puis ./gradlew jmhArchive pour garder les résultats d'une version
+jmh {
+    jmhVersion = "1.37"
+    warmupIterations = 2
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+}
+
+tasks.register<Copy>("jmhArchive") {
+    description = "Runs the JMH benchmarks and keeps the JSON results under benchmarks/, named after the version"
+    group = "benchmark"
+    dependsOn("jmh")
+    from(layout.buildDirectory.file("reports/jmh/results.json"))
+    into(layout.projectDirectory.dir("benchmarks"))
+    rename { "jmh-${project.version}.json" }
+}
@@ -0,0 +1,91 @@
+package com.example.ubo.authapi.benchmark;
+
+import com.example.ubo.authapi.dto.RevokedTokenDto;
+import com.example.ubo.authapi.dto.SigningKeyDto;
+import com.example.ubo.authapi.repository.RevokedTokenRepository;
+import com.example.ubo.authapi.repository.SigningKeyRepository;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Wiring for the benchmarks: the components are built by hand, without Spring nor database.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Les méthodes @PostConstruct sont package-private
+    static void invoke(Object target, String name) {
+        try {
+            Method method = target.getClass().getDeclaredMethod(name);
+            method.setAccessible(true);
+            method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static final class InMemorySigningKeyRepository extends SigningKeyRepository {
+        private final List<SigningKeyDto> keys = new ArrayList<>();
+
+        InMemorySigningKeyRepository() {
+            super(null);
+        }
+
+        @Override
+        public synchronized boolean addKeyIfNoneAfter(SigningKeyDto key, long notAfter) {
+            if (keys.stream().anyMatch(k -> k.getActivatesAt() > notAfter))
+                return false;
+            keys.add(key);
+            return true;
+        }
+
+        @Override
+        public synchronized List<SigningKeyDto> getAllKeys() {
+            List<SigningKeyDto> sorted = new ArrayList<>(keys);
+            sorted.sort(Comparator.comparingLong(SigningKeyDto::getActivatesAt).reversed());
+            return sorted;
+        }
+
+        @Override
+        public synchronized void deleteKey(String kid) {
+            keys.removeIf(k -> k.getKeyId().equals(kid));
+        }
+    }
+
+    static final class NoOpRevokedTokenRepository extends RevokedTokenRepository {
+
+        NoOpRevokedTokenRepository() {
+            super(null);
+        }
+
+        @Override
+        public void addRevokedToken(RevokedTokenDto revokedToken) {
+        }
+
+        @Override
+        public List<RevokedTokenDto> getRevokedTokensSince(long since, long now) {
+            return List.of();
+        }
+
+        @Override
+        public int deleteExpiredTokens(long now) {
+            return 0;
+        }
+    }
+}
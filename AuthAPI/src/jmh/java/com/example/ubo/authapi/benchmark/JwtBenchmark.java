@@ -0,0 +1,72 @@
+package com.example.ubo.authapi.benchmark;
+
+import com.example.ubo.authapi.configuration.Jwt;
+import com.example.ubo.authapi.dto.UserRepositoryDto;
+import com.example.ubo.authapi.security.SigningKeyRing;
+import com.example.ubo.authapi.security.TokenRevocationStore;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuance (/signin, /refresh) and verification (/verify-token, /verify-tokens, /logout).
+ * Verification is a single parse: signature, issuer, audience, expiry, then the revocation lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private Jwt jwt;
+    private UserRepositoryDto user;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        SigningKeyRing keyRing = new SigningKeyRing(new BenchmarkSupport.InMemorySigningKeyRepository(),
+                "db", "", "", "", Duration.ofDays(7), Duration.ofMinutes(10), Duration.ofDays(31));
+        BenchmarkSupport.invoke(keyRing, "init");
+        TokenRevocationStore revocationStore = new TokenRevocationStore(new BenchmarkSupport.NoOpRevokedTokenRepository(),
+                new SimpleMeterRegistry(), 100_000, 0.01);
+
+        jwt = new Jwt();
+        BenchmarkSupport.setField(jwt, "keyRing", keyRing);
+        BenchmarkSupport.setField(jwt, "revocationStore", revocationStore);
+        BenchmarkSupport.setField(jwt, "audiences", List.of("auth-api", "ecomm-api"));
+        BenchmarkSupport.setField(jwt, "accessTokenTtl", Duration.ofMinutes(5));
+
+        user = new UserRepositoryDto("bench", "bench@example.com", "unused", "Bench", "User");
+        user.setId("1");
+        user.setAdmin(false);
+        token = jwt.generateAccessToken(user, "session");
+        // Signature invalide : dernier caractère modifié
+        char last = token.charAt(token.length() - 1);
+        tamperedToken = token.substring(0, token.length() - 1) + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwt.generateAccessToken(user, "session");
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return jwt.getValidClaims(token);
+    }
+
+    @Benchmark
+    public Claims validateTamperedToken() {
+        return jwt.getValidClaims(tamperedToken);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ubo.authapi.benchmark;
+
+import com.example.ubo.authapi.security.TokenRevocationStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revocation lookup done on every token verification, by number of tokens currently revoked.
+ * Nearly all verified tokens were never revoked: that is the path the Bloom filter short-circuits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RevocationLookupBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int revokedTokens;
+
+    private TokenRevocationStore revocationStore;
+    private long expiresAt;
+    private String[] revokedIds;
+    private String[] activeIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        revocationStore = new TokenRevocationStore(new BenchmarkSupport.NoOpRevokedTokenRepository(),
+                new SimpleMeterRegistry(), revokedTokens, 0.01);
+        expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        revokedIds = new String[PROBES];
+        for (int i = 0; i < revokedTokens; i++) {
+            String id = UUID.randomUUID().toString();
+            revocationStore.revoke(id, expiresAt);
+            if (i < PROBES)
+                revokedIds[i] = id;
+        }
+        activeIds = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            activeIds[i] = UUID.randomUUID().toString();
+            if (revokedIds[i] == null)
+                revokedIds[i] = revokedIds[i % Math.min(PROBES, revokedTokens)];
+        }
+    }
+
+    @Benchmark
+    public boolean lookupActiveToken() {
+        return revocationStore.isRevoked(activeIds[next++ & (PROBES - 1)], expiresAt);
+    }
+
+    @Benchmark
+    public boolean lookupRevokedToken() {
+        return revocationStore.isRevoked(revokedIds[next++ & (PROBES - 1)], expiresAt);
+    }
+}
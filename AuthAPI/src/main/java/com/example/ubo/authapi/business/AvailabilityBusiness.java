@@ -0,0 +1,169 @@
+package com.example.ubo.authapi.business;
+
+import com.example.ubo.authapi.exceptions.RetryLaterException;
+import com.example.ubo.authapi.repository.UserRepository;
+import com.example.ubo.authapi.security.LoginThrottle;
+import com.example.ubo.authapi.util.BloomFilter;
+import com.example.ubo.authapi.util.SlidingWindowLimiter;
+import dto.authapi.AvailabilityResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Username and email availability for the signup form. Two Bloom filters hold every
+ * username and email of the ACCOUNT table: a value absent from its filter is free
+ * without touching the database, only possible hits are checked with a query.
+ * The filters are fed by each signup and import of this instance, and rebuilt
+ * periodically to pick up accounts created by the other replicas.
+ */
+@Component
+public class AvailabilityBusiness {
+    private static final Logger logger = Logger.getLogger(AvailabilityBusiness.class.getName());
+    // Accents et caractères ignorés par la collation (espaces de largeur nulle...)
+    private static final Pattern IGNORED = Pattern.compile("[\\p{M}\\p{Cf}]+");
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+    }
+
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final SlidingWindowLimiter byAddress;
+
+    private volatile Filters filters;
+    // Filtres en cours de reconstruction, alimentés en parallèle par add()
+    private volatile Filters next;
+
+    private final Counter filterNegatives;
+    private final Counter falsePositives;
+    private final Counter taken;
+
+    public AvailabilityBusiness(UserRepository userRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${users.availability.expected-insertions:100000}") long expectedInsertions,
+                                @Value("${users.availability.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${users.availability.per-address:120}") int perAddress,
+                                @Value("${users.availability.window:1m}") Duration window) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.byAddress = new SlidingWindowLimiter(perAddress, window.toMillis(), 100_000);
+        this.filters = newFilters(expectedInsertions);
+
+        this.filterNegatives = lookupCounter(meterRegistry, "free");
+        this.falsePositives = lookupCounter(meterRegistry, "false_positive");
+        this.taken = lookupCounter(meterRegistry, "taken");
+    }
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    public AvailabilityResponse check(String username, String email, String clientAddress) {
+        // Limite l'énumération des comptes existants
+        long wait = clientAddress != null ? byAddress.tryAcquire(clientAddress) : 0;
+        if (wait > 0) {
+            throw new RetryLaterException(429, LoginThrottle.CODE_THROTTLED,
+                    "Trop de vérifications de disponibilité, réessayez plus tard.", (wait + 999) / 1000);
+        }
+        Filters current = filters;
+        AvailabilityResponse response = new AvailabilityResponse();
+        if (username != null && !username.isBlank()) {
+            response.setUsername(username);
+            response.setUsernameAvailable(isFree(current.usernames(), username,
+                    () -> userRepository.getAccountByUsername(username) == null));
+        }
+        if (email != null && !email.isBlank()) {
+            response.setEmail(email);
+            response.setEmailAvailable(isFree(current.emails(), email,
+                    () -> userRepository.getAccountByEmail(email) == null));
+        }
+        return response;
+    }
+
+    /**
+     * Records a freshly created account. Must be called after the insert is committed.
+     */
+    public void add(String username, String email) {
+        // next avant filters : si la reconstruction a déjà basculé, filters est le nouveau
+        Filters rebuilding = next;
+        Filters current = filters;
+        put(current, username, email);
+        if (rebuilding != null)
+            put(rebuilding, username, email);
+    }
+
+    @Scheduled(fixedDelayString = "${users.availability.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        byAddress.evictIdle();
+    }
+
+    @Scheduled(fixedDelayString = "${users.availability.rebuild-interval-ms:600000}", initialDelayString = "${users.availability.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        try {
+            long count = userRepository.countAccounts();
+            Filters rebuilt = newFilters(Math.max(expectedInsertions, 2 * count));
+            next = rebuilt;
+            userRepository.forEachAccount((username, email) -> put(rebuilt, username, email));
+            filters = rebuilt;
+        } catch (Exception e) {
+            logger.warning("Unable to rebuild the availability filters: " + e.getMessage());
+        } finally {
+            next = null;
+        }
+    }
+
+    private boolean isFree(BloomFilter filter, String value, BooleanSupplier freeInDatabase) {
+        if (!filter.mightContain(normalize(value))) {
+            filterNegatives.increment();
+            return true;
+        }
+        boolean free = freeInDatabase.getAsBoolean();
+        (free ? falsePositives : taken).increment();
+        return free;
+    }
+
+    private Filters newFilters(long expected) {
+        return new Filters(new BloomFilter(expected, falsePositiveRate), new BloomFilter(expected, falsePositiveRate));
+    }
+
+    private static void put(Filters filters, String username, String email) {
+        if (username != null)
+            filters.usernames().put(normalize(username));
+        if (email != null)
+            filters.emails().put(normalize(email));
+    }
+
+    // utf8mb4_unicode_ci ignore la casse, les accents et développe ß, æ, œ : on replie au moins autant.
+    // Replier trop ne coûte qu'une requête de confirmation, pas assez répondrait « libre » à tort
+    static String normalize(String value) {
+        String folded = IGNORED.matcher(Normalizer.normalize(value.trim(), Normalizer.Form.NFKD)).replaceAll("");
+        return folded.toLowerCase(Locale.ROOT)
+                .replace("ß", "ss")
+                .replace("æ", "ae")
+                .replace("œ", "oe")
+                .replace('ø', 'o')
+                .replace('đ', 'd')
+                .replace('ł', 'l')
+                .replace('ı', 'i');
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.availability.lookups")
+                .description("Availability checks by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
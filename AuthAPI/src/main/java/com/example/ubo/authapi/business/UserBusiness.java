@@ -1,22 +1,34 @@
 package com.example.ubo.authapi.business;
 
+import com.example.ubo.authapi.dto.RefreshSessionDto;
 import com.example.ubo.authapi.dto.UserRepositoryDto;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.example.ubo.authapi.security.LoginThrottle;
+import com.example.ubo.authapi.security.PasswordHasher;
+import com.example.ubo.authapi.security.RefreshSessionStore;
+import com.example.ubo.authapi.security.TokenBatchVerifier;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
 
 import com.example.ubo.authapi.configuration.Jwt;
 import com.example.ubo.authapi.entity.UserEntity;
 import com.example.ubo.authapi.repository.UserRepository;
 
+import dto.authapi.AvailabilityResponse;
 import dto.authapi.CheckResponse;
 import dto.authapi.LoginRequest;
 import dto.authapi.LoginResponse;
 import dto.authapi.LogoutResponse;
+import dto.authapi.RefreshRequest;
 import dto.authapi.RegisterRequest;
 import dto.authapi.RegisterResponse;
+import dto.authapi.RevocationFeed;
+import dto.authapi.TokenBatchRequest;
 import dto.authapi.User;
+import io.jsonwebtoken.Claims;
 import jakarta.inject.Inject;
 
+import java.util.List;
+
 import static com.example.ubo.authapi.mapper.UserMapper.toEntity;
 import static com.example.ubo.authapi.mapper.UserMapper.toRepositoryDto;
 
@@ -24,7 +36,19 @@ import static com.example.ubo.authapi.mapper.UserMapper.toRepositoryDto;
 public class UserBusiness {
     
     @Inject
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Inject
+    private LoginThrottle loginThrottle;
+
+    @Inject
+    private AvailabilityBusiness availabilityBusiness;
+
+    @Inject
+    private RefreshSessionStore refreshSessions;
+
+    @Inject
+    private TokenBatchVerifier tokenBatchVerifier;
 
     @Inject
     private UserRepository userRepository;
@@ -33,76 +57,139 @@ public class UserBusiness {
     private Jwt jwtUtil;
 
     private String encodePassword(String rawPassword) {
-        return passwordEncoder.encode(rawPassword);
+        return passwordHasher.encode(rawPassword);
     }
 
     private boolean matchesPassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return passwordHasher.matches(rawPassword, encodedPassword);
     }
 
-    public LoginResponse login(LoginRequest loginRequest) {
-        UserEntity userEntity = toEntity(userRepository.getAccountByUsername(loginRequest.getUsername()));
+    public LoginResponse login(LoginRequest loginRequest, String clientAddress) {
+        loginThrottle.acquire(loginRequest.getUsername(), clientAddress);
+        UserRepositoryDto account = userRepository.getAccountByUsername(loginRequest.getUsername());
+        UserEntity userEntity = toEntity(account);
         LoginResponse response = new LoginResponse();
         if (userEntity != null && matchesPassword(loginRequest.getPassword(), userEntity.getPassword())) {
-            response.setSuccess(true);
-            response.setToken(jwtUtil.generateToken(userEntity.getUsername()));
-            response.setUser(new dto.authapi.User()
-                    .username(userEntity.getUsername())
-                    .email(userEntity.getEmail())
-                    .firstName(userEntity.getFirstName())
-                    .lastName(userEntity.getLastName())
-            );
+            if (passwordHasher.needsRehash(account.getPassword())) {
+                // Coût bcrypt modifié depuis l'inscription : on met le hash à jour en arrière-plan
+                passwordHasher.rehashLater(loginRequest.getPassword(),
+                        hash -> userRepository.updatePassword(account.getId(), hash));
+            }
+            issueTokens(response, account, refreshSessions.open(account.getId()));
         } else {
             response.setSuccess(false);
         }
         return response;
     }
 
-    public RegisterResponse register(RegisterRequest registerRequest) {
-        UserRepositoryDto userDto = userRepository.getAccountByUsername(registerRequest.getUsername());
-        if(userDto == null) {
-            userDto = userRepository.getAccountByEmail(registerRequest.getEmail());
+    public LoginResponse refresh(RefreshRequest refreshRequest) {
+        LoginResponse response = new LoginResponse();
+        Claims claims = refreshRequest == null ? null : jwtUtil.getValidRefreshClaims(refreshRequest.getRefreshToken());
+        if (claims == null) {
+            response.setSuccess(false);
+            return response;
+        }
+        String sessionId = claims.get(Jwt.CLAIM_SESSION_ID, String.class);
+        RefreshSessionDto session = refreshSessions.rotate(sessionId,
+                claims.get(Jwt.CLAIM_USER_ID, String.class),
+                claims.get(Jwt.CLAIM_GENERATION, Integer.class),
+                claims.getExpiration().getTime());
+        if (session == null) {
+            response.setSuccess(false);
+            return response;
+        }
+        // Compte relu à chaque refresh : un compte supprimé ou un flag admin modifié est pris en compte
+        UserRepositoryDto account = userRepository.getAccountByUsername(claims.getSubject());
+        if (account == null || !account.getId().equals(session.getAccountId())) {
+            refreshSessions.close(sessionId);
+            response.setSuccess(false);
+            return response;
         }
+        issueTokens(response, account, session);
+        return response;
+    }
+
+    private void issueTokens(LoginResponse response, UserRepositoryDto account, RefreshSessionDto session) {
+        response.setSuccess(true);
+        response.setToken(jwtUtil.generateAccessToken(account, session.getSessionId()));
+        response.setRefreshToken(jwtUtil.generateRefreshToken(account, session));
+        response.setExpiresIn(jwtUtil.getAccessTokenTtlSeconds());
+        response.setUser(new dto.authapi.User()
+                .id(account.getId())
+                .username(account.getUsername())
+                .email(account.getEmail())
+                .firstName(account.getFirstName())
+                .lastName(account.getLastName())
+        );
+    }
+
+    public RegisterResponse register(RegisterRequest registerRequest) {
+        UserEntity newUser = new UserEntity();
+        newUser.setUsername(registerRequest.getUsername());
+        newUser.setEmail(registerRequest.getEmail());
+        newUser.setPassword(encodePassword(registerRequest.getPassword()));
+        newUser.setLastName(registerRequest.getLastName());
+        newUser.setFirstName(registerRequest.getFirstName());
         RegisterResponse response = new RegisterResponse();
-        if (userDto == null) {
-            UserEntity newUser = new UserEntity();
-            newUser.setUsername(registerRequest.getUsername());
-            newUser.setEmail(registerRequest.getEmail());
-            newUser.setPassword(encodePassword(registerRequest.getPassword()));
-            newUser.setLastName(registerRequest.getLastName());
-            newUser.setFirstName(registerRequest.getFirstName());
-            userRepository.addUser(toRepositoryDto(newUser));
-            response.setSuccess(true);
-            response.setMessage("User registered successfully");
-            response.setUser(new User()
-                    .username(newUser.getUsername())
-                    .email(newUser.getEmail())
-                    .lastName(newUser.getLastName())
-                    .firstName(newUser.getFirstName())
-            );
-        } else {
+        UserRepositoryDto created;
+        try {
+            // Un seul aller-retour : l'unicité est vérifiée par la base, sans fenêtre de concurrence
+            created = userRepository.addUser(toRepositoryDto(newUser));
+        } catch (DuplicateKeyException e) {
             response.setSuccess(false);
             response.setMessage("Username already exists");
+            return response;
         }
+        availabilityBusiness.add(created.getUsername(), created.getEmail());
+        response.setSuccess(true);
+        response.setMessage("User registered successfully");
+        response.setUser(new User()
+                .id(created.getId())
+                .username(newUser.getUsername())
+                .email(newUser.getEmail())
+                .lastName(newUser.getLastName())
+                .firstName(newUser.getFirstName())
+        );
         return response;
     }
 
     public LogoutResponse logout(String token) {
-        jwtUtil.invalidateToken(token);
+        Claims claims = jwtUtil.invalidateToken(token);
+        if (claims != null && claims.get(Jwt.CLAIM_SESSION_ID) != null) {
+            // Ferme aussi la session : le refresh token associé ne permet plus d'obtenir de token
+            refreshSessions.close(claims.get(Jwt.CLAIM_SESSION_ID, String.class));
+        }
         LogoutResponse response = new LogoutResponse();
         response.setSuccess(true);
         response.setMessage("User logged out successfully");
         return response;
     }
 
+    public List<CheckResponse> checkAll(TokenBatchRequest request) {
+        // Vérification purement CPU (aucune requête en base) : on répartit les tokens sur un pool dédié
+        return tokenBatchVerifier.verifyAll(request.getTokens(), this::check);
+    }
+
+    public AvailabilityResponse availability(String username, String email, String clientAddress) {
+        return availabilityBusiness.check(username, email, clientAddress);
+    }
+
+    public RevocationFeed revocations(Long since) {
+        RevocationFeed feed = new RevocationFeed();
+        feed.setTimestamp(System.currentTimeMillis());
+        feed.setTokenIds(jwtUtil.getRevokedTokenIds(since != null ? since : 0L));
+        return feed;
+    }
+
     public CheckResponse check(String token) {
         CheckResponse response = new CheckResponse();
-        if (jwtUtil.validateToken(token)) {
+        // Tout est porté par les claims signés : aucune requête en base
+        Claims claims = jwtUtil.getValidClaims(token);
+        if (claims != null) {
             response.setValid(true);
-            UserRepositoryDto user = userRepository.getAccountByUsername(jwtUtil.getUsername(token));
-            response.setUsername(user.getUsername());
-            response.setAdmin(user.isAdmin());
-            response.setId(user.getId());
+            response.setUsername(claims.getSubject());
+            response.setAdmin(Boolean.TRUE.equals(claims.get(Jwt.CLAIM_ADMIN, Boolean.class)));
+            response.setId(claims.get(Jwt.CLAIM_USER_ID, String.class));
         } else {
             response.setValid(false);
         }
@@ -0,0 +1,265 @@
+package com.example.ubo.authapi.business;
+
+import com.example.ubo.authapi.dto.ImportedUserDto;
+import com.example.ubo.authapi.dto.UserRepositoryDto;
+import com.example.ubo.authapi.repository.UserRepository;
+import com.example.ubo.authapi.security.PasswordHasher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.authapi.ImportRejection;
+import dto.authapi.UserImportReport;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk user import. The file is streamed and handled chunk by chunk: one query finds the
+ * usernames and emails already taken, passwords are hashed in parallel, then the chunk is
+ * inserted in one JDBC batch. A bad row is reported and skipped, it never aborts the import.
+ */
+@Component
+public class UserImportBusiness {
+    private static final Logger logger = Logger.getLogger(UserImportBusiness.class.getName());
+
+    public static final String FORMAT_NDJSON = "application/x-ndjson";
+    public static final String FORMAT_CSV = "text/csv";
+
+    private static final String CONFLICT = "CONFLICT";
+    private static final String INVALID = "INVALID";
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./A-Za-z0-9]{53}$");
+
+    @Inject
+    private UserRepository userRepository;
+
+    @Inject
+    private PasswordHasher passwordHasher;
+
+    @Inject
+    private ObjectMapper objectMapper;
+
+    @Inject
+    private AvailabilityBusiness availabilityBusiness;
+
+    @Value("${users.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${users.import.hashing-threads:0}")
+    private int hashingThreads;
+
+    @Value("${users.import.max-reported-rejections:1000}")
+    private int maxReportedRejections;
+
+    // Pool distinct de celui des logins : un import ne fait pas tomber /signin en 503
+    private ForkJoinPool hashingPool;
+
+    @PostConstruct
+    void init() {
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        hashingPool = new ForkJoinPool(threads);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    public UserImportReport importUsers(InputStream body, boolean csv) throws IOException {
+        Progress progress = new Progress();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<ImportedUserDto> chunk = new ArrayList<>();
+        String[] header = null;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank())
+                continue;
+            if (csv && header == null) {
+                header = parseCsvLine(line);
+                continue;
+            }
+            progress.total++;
+            ImportedUserDto user;
+            try {
+                user = csv ? fromCsv(header, parseCsvLine(line)) : objectMapper.readValue(line, ImportedUserDto.class);
+            } catch (IOException | IllegalArgumentException e) {
+                progress.reject(lineNumber, null, INVALID, "Ligne illisible.");
+                continue;
+            }
+            user.setLine(lineNumber);
+            String invalid = validate(user);
+            if (invalid != null) {
+                progress.reject(lineNumber, user.getUsername(), INVALID, invalid);
+                continue;
+            }
+            chunk.add(user);
+            if (chunk.size() >= chunkSize) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty())
+            importChunk(chunk, progress);
+        logger.info("Users import: " + progress.imported + " imported, " + progress.rejectedCount + " rejected out of " + progress.total);
+        return new UserImportReport()
+                .total(progress.total)
+                .imported(progress.imported)
+                .rejectedCount(progress.rejectedCount)
+                .rejected(progress.rejected);
+    }
+
+    private void importChunk(List<ImportedUserDto> chunk, Progress progress) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ImportedUserDto user : chunk) {
+            usernames.add(normalize(user.getUsername()));
+            emails.add(normalize(user.getEmail()));
+        }
+        // Les collations sont insensibles à la casse : on compare en minuscules
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (UserRepositoryDto existing : userRepository.getExistingAccounts(usernames, emails)) {
+            takenUsernames.add(normalize(existing.getUsername()));
+            takenEmails.add(normalize(existing.getEmail()));
+        }
+
+        List<ImportedUserDto> accepted = new ArrayList<>();
+        for (ImportedUserDto user : chunk) {
+            String username = normalize(user.getUsername());
+            String email = normalize(user.getEmail());
+            // Un doublon dans le fichier lui-même est traité comme un conflit en base
+            if (takenUsernames.contains(username) || takenEmails.contains(email)) {
+                progress.reject(user.getLine(), user.getUsername(), CONFLICT, "Nom d'utilisateur ou email déjà utilisé.");
+                continue;
+            }
+            takenUsernames.add(username);
+            takenEmails.add(email);
+            accepted.add(user);
+        }
+        if (accepted.isEmpty())
+            return;
+
+        List<UserRepositoryDto> accounts = hashingPool.submit(() -> accepted.parallelStream()
+                .map(this::toAccount)
+                .toList()).join();
+        int[] counts = userRepository.addUsersIgnoringDuplicates(accounts);
+        for (int i = 0; i < counts.length; i++) {
+            // 0 : ligne ignorée par INSERT IGNORE, insérée entre-temps par une autre requête
+            if (counts[i] == 0) {
+                ImportedUserDto user = accepted.get(i);
+                progress.reject(user.getLine(), user.getUsername(), CONFLICT, "Nom d'utilisateur ou email déjà utilisé.");
+            } else {
+                progress.imported++;
+                availabilityBusiness.add(accounts.get(i).getUsername(), accounts.get(i).getEmail());
+            }
+        }
+    }
+
+    private UserRepositoryDto toAccount(ImportedUserDto user) {
+        String hash = user.getPasswordHash() != null ? user.getPasswordHash() : passwordHasher.encodeInline(user.getPassword());
+        UserRepositoryDto account = new UserRepositoryDto(user.getUsername(), user.getEmail(), hash, user.getFirstName(), user.getLastName());
+        account.setAdmin(false);
+        return account;
+    }
+
+    private static String validate(ImportedUserDto user) {
+        if (isBlank(user.getUsername()) || isBlank(user.getEmail()))
+            return "username et email sont obligatoires.";
+        if (!user.getEmail().contains("@"))
+            return "Email invalide.";
+        if (user.getPasswordHash() != null) {
+            if (!BCRYPT_HASH.matcher(user.getPasswordHash()).matches())
+                return "passwordHash n'est pas un hash bcrypt.";
+        } else if (isBlank(user.getPassword())) {
+            return "password ou passwordHash est obligatoire.";
+        }
+        return null;
+    }
+
+    private static ImportedUserDto fromCsv(String[] header, String[] values) {
+        ImportedUserDto user = new ImportedUserDto();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            String value = values[i].isEmpty() ? null : values[i];
+            switch (header[i].trim().toLowerCase(Locale.ROOT)) {
+                case "username" -> user.setUsername(value);
+                case "email" -> user.setEmail(value);
+                case "password" -> user.setPassword(value);
+                case "passwordhash" -> user.setPasswordHash(value);
+                case "firstname" -> user.setFirstName(value);
+                case "lastname" -> user.setLastName(value);
+                default -> { }
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Splits one CSV line on commas, honouring double quotes ("" inside quotes is a literal quote).
+     * Quoted values spanning several lines are not supported.
+     */
+    static String[] parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted)
+            throw new IllegalArgumentException("Unterminated quoted value");
+        values.add(current.toString());
+        return values.toArray(String[]::new);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private final class Progress {
+        private int total;
+        private int imported;
+        private int rejectedCount;
+        private final List<ImportRejection> rejected = new ArrayList<>();
+
+        void reject(int line, String username, String code, String message) {
+            rejectedCount++;
+            if (rejected.size() < maxReportedRejections)
+                rejected.add(new ImportRejection().line(line).username(username).code(code).message(message));
+        }
+    }
+}
@@ -1,15 +1,26 @@
 package com.example.ubo.authapi.configuration;
 
+import com.example.ubo.authapi.filters.CompressionInterceptor;
+import com.example.ubo.authapi.filters.RequestMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.ws.rs.ApplicationPath;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 @Configuration
 @ApplicationPath("/api/v1")
 public class JerseyConfig extends ResourceConfig {
 
-    public JerseyConfig(){
-        packages("com.example.ubo.authapi.controller");
+    public JerseyConfig(MeterRegistry meterRegistry,
+                        @Value("${compression.enabled:true}") boolean compressionEnabled,
+                        @Value("${compression.min-size:1KB}") DataSize compressionMinSize,
+                        @Value("${compression.level:6}") int compressionLevel){
+        packages("com.example.ubo.authapi.controller", "com.example.ubo.authapi.handlers");
         register(CORSResponseHeader.class);
+        register(new RequestMetricsFilter(meterRegistry));
+        if (compressionEnabled)
+            register(new CompressionInterceptor((int) compressionMinSize.toBytes(), compressionLevel));
     }
 }
@@ -1,63 +1,167 @@
 package com.example.ubo.authapi.configuration;
 
+import com.example.ubo.authapi.dto.RefreshSessionDto;
+import com.example.ubo.authapi.dto.UserRepositoryDto;
+import com.example.ubo.authapi.security.SigningKeyRing;
+import com.example.ubo.authapi.security.TokenRevocationStore;
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.InvalidKeyException;
 
+import jakarta.inject.Inject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
 import java.util.Date;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class Jwt {
-    private final SecretKey key = Jwts.SIG.HS256.key().build();
-    private final ConcurrentHashMap<String, Boolean> invalidatedTokens = new ConcurrentHashMap<>();
+    public static final String ISSUER = "auth-api";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ADMIN = "admin";
+    public static final String CLAIM_TOKEN_USE = "use";
+    public static final String CLAIM_SESSION_ID = "sid";
+    public static final String CLAIM_GENERATION = "gen";
+    private static final String USE_ACCESS = "access";
+    private static final String USE_REFRESH = "refresh";
 
-    public String generateToken(String username) {
-        long jwtExpiration = 1000 /*ms */ * 60/*seconds*/ * 60;/*minutes*/ //1h
+    // Construit une seule fois : /verify-token est l'endpoint le plus sollicité
+    private final JwtParser parser = Jwts.parser()
+            .requireIssuer(ISSUER)
+            .requireAudience(ISSUER)
+            .keyLocator(new LocatorAdapter<Key>() {
+                @Override
+                protected Key locate(JwsHeader header) {
+                    RSAPublicKey key = keyRing.getVerificationKey(header.getKeyId());
+                    if (key == null)
+                        throw new InvalidKeyException("Unknown key id " + header.getKeyId());
+                    return key;
+                }
+            })
+            .build();
+
+    // RS256 : seules les clés publiques sont nécessaires pour vérifier, elles sont publiées via /.well-known/jwks.json
+    @Inject
+    private SigningKeyRing keyRing;
+
+    @Inject
+    private TokenRevocationStore revocationStore;
+
+    @Value("${jwt.audiences:auth-api,ecomm-api}")
+    private List<String> audiences;
+
+    // Courte durée : les services se contentent de la signature, un logout prend effet au plus tard à l'expiration
+    @Value("${jwt.access-token-ttl:5m}")
+    private Duration accessTokenTtl;
+
+    public String generateAccessToken(UserRepositoryDto user, String sessionId) {
+        SigningKeyRing.SigningKey signingKey = keyRing.getActiveKey();
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .header().keyId(signingKey.keyId()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ADMIN, user.isAdmin())
+                .claim(CLAIM_TOKEN_USE, USE_ACCESS)
+                .claim(CLAIM_SESSION_ID, sessionId)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + accessTokenTtl.toMillis()))
+                .issuer(ISSUER)
+                .audience().add(audiences)
+                .and()
+                .signWith(signingKey.privateKey(), Jwts.SIG.RS256)
+                .compact();
+    }
+
+    /**
+     * Refresh token of the session at its current generation. Its only audience is AuthAPI,
+     * so the other services reject it as an access token.
+     */
+    public String generateRefreshToken(UserRepositoryDto user, RefreshSessionDto session) {
+        SigningKeyRing.SigningKey signingKey = keyRing.getActiveKey();
         return Jwts.builder()
-                .subject(username)
+                .header().keyId(signingKey.keyId()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_TOKEN_USE, USE_REFRESH)
+                .claim(CLAIM_SESSION_ID, session.getSessionId())
+                .claim(CLAIM_GENERATION, session.getGeneration())
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .issuer("auth-api")
-                .audience().add("auth-api")
+                .expiration(new Date(session.getExpiresAt()))
+                .issuer(ISSUER)
+                .audience().add(ISSUER)
                 .and()
-                .signWith(key)
+                .signWith(signingKey.privateKey(), Jwts.SIG.RS256)
                 .compact();
     }
 
+    public long getAccessTokenTtlSeconds() {
+        return accessTokenTtl.toSeconds();
+    }
+
     public boolean validateToken(String token) {
-        try {
-            if (invalidatedTokens.containsKey(token))
-                throw new RuntimeException("Invalidated token");
-            extractAllClaims(token);
-            return true;
-        } catch (Exception ignored) {
-            return false;
-        }
+        return getValidClaims(token) != null;
+    }
+
+    /**
+     * Vérifie le token d'accès en une seule passe et retourne ses claims, ou null s'il est invalide, expiré ou révoqué.
+     */
+    public Claims getValidClaims(String token) {
+        Claims claims = parse(token);
+        if (claims == null || USE_REFRESH.equals(claims.get(CLAIM_TOKEN_USE, String.class)))
+            return null;
+        if (claims.getId() != null && revocationStore.isRevoked(claims.getId(), claims.getExpiration().getTime()))
+            return null;
+        return claims;
+    }
+
+    /**
+     * Claims d'un refresh token dont la signature et l'expiration sont valides. Sa révocation
+     * (session fermée, génération déjà consommée) est vérifiée par la session.
+     */
+    public Claims getValidRefreshClaims(String token) {
+        Claims claims = parse(token);
+        if (claims == null || !USE_REFRESH.equals(claims.get(CLAIM_TOKEN_USE, String.class)))
+            return null;
+        return claims;
     }
 
-    public void invalidateToken(String token) {
-        invalidatedTokens.put(token, true);
+    /**
+     * Révoque le token d'accès et retourne ses claims, ou null s'il n'était pas valide.
+     */
+    public Claims invalidateToken(String token) {
+        Claims claims = getValidClaims(token);
+        if (claims == null || claims.getId() == null)
+            return claims;
+        revocationStore.revoke(claims.getId(), claims.getExpiration().getTime());
+        return claims;
     }
 
-    public String getUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public List<String> getRevokedTokenIds(long since) {
+        return revocationStore.getRevokedTokenIds(since);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .requireIssuer("auth-api")
-                .requireAudience("auth-api")
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Clés publiques acceptées pour la vérification, indexées par kid.
+     */
+    public Map<String, RSAPublicKey> getVerificationKeys() {
+        return keyRing.getPublishedKeys();
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> extractor) {
-        return extractor.apply(extractAllClaims(token));
+    private Claims parse(String token) {
+        if (token == null)
+            return null;
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException ignored) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,58 @@
+package com.example.ubo.authapi.controller;
+
+import com.example.ubo.authapi.business.UserBusiness;
+import com.example.ubo.authapi.business.UserImportBusiness;
+import dto.authapi.ErrorResponse;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.springframework.stereotype.Controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Controller
+@Path("/admin")
+public class AdminController {
+
+    @Inject
+    private UserBusiness userBusiness;
+
+    @Inject
+    private UserImportBusiness userImportBusiness;
+
+    @POST
+    @Consumes({UserImportBusiness.FORMAT_NDJSON, UserImportBusiness.FORMAT_CSV})
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/users/import")
+    public Response importUsers(@HeaderParam("Authentication") String token,
+                                @Context HttpHeaders headers,
+                                InputStream body) throws IOException {
+        var check = userBusiness.check(token);
+        if (!check.isValid()) {
+            return Response
+                .status(401)
+                .entity(new ErrorResponse()
+                    .code("AUTH_003")
+                    .message("Token invalide ou expiré.")
+                ).build();
+        }
+        if (!Boolean.TRUE.equals(check.isAdmin())) {
+            return Response
+                .status(403)
+                .entity(new ErrorResponse()
+                    .code("AUTH_007")
+                    .message("Droits administrateur requis.")
+                ).build();
+        }
+        boolean csv = headers.getMediaType().isCompatible(MediaType.valueOf(UserImportBusiness.FORMAT_CSV));
+        return Response.ok(userImportBusiness.importUsers(body, csv)).build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.ubo.authapi.controller;
+
+import com.example.ubo.authapi.configuration.Jwt;
+import com.example.ubo.authapi.mapper.JwkMapper;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.springframework.stereotype.Controller;
+
+@Controller
+@Path("/.well-known")
+public class KeyController {
+
+    @Inject
+    private Jwt jwtUtil;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/jwks.json")
+    public Response jwks() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setMaxAge(300);
+        return Response
+                .ok(JwkMapper.toDto(jwtUtil.getVerificationKeys()))
+                .cacheControl(cacheControl)
+                .build();
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.ubo.authapi.controller;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 
 import com.example.ubo.authapi.business.UserBusiness;
+import com.example.ubo.authapi.security.ClientAddressResolver;
+import com.example.ubo.authapi.security.ServiceAuthentication;
 
 import dto.authapi.ErrorResponse;
 import dto.authapi.LoginRequest;
+import dto.authapi.RefreshRequest;
 import dto.authapi.RegisterRequest;
+import dto.authapi.TokenBatchRequest;
 import jakarta.inject.Inject;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -15,6 +21,8 @@ import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -25,12 +33,21 @@ public class UserController {
     @Inject
     private UserBusiness userBusiness;
 
+    @Inject
+    private ClientAddressResolver clientAddressResolver;
+
+    @Inject
+    private ServiceAuthentication serviceAuthentication;
+
+    @Value("${jwt.verify-batch.max-size:1000}")
+    private int maxBatchSize;
+
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/signin")
-    public Response login(LoginRequest loginRequest) {
-        var loginResponse = userBusiness.login(loginRequest);
+    public Response login(LoginRequest loginRequest, @Context HttpServletRequest request) {
+        var loginResponse = userBusiness.login(loginRequest, clientAddressResolver.resolve(request));
         if (!loginResponse.isSuccess()) {
             return Response
                 .status(401)
@@ -42,6 +59,23 @@ public class UserController {
         return Response.ok(loginResponse).build();
     }
     
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/refresh")
+    public Response refresh(RefreshRequest refreshRequest) {
+        var refreshResponse = userBusiness.refresh(refreshRequest);
+        if (!refreshResponse.isSuccess()) {
+            return Response
+                .status(401)
+                .entity(new ErrorResponse()
+                    .code("AUTH_003")
+                    .message("Token invalide ou expiré.")
+                ).build();
+        }
+        return Response.ok(refreshResponse).build();
+    }
+
     @DELETE
     @Produces(MediaType.APPLICATION_JSON)
     @Path("/logout")
@@ -66,6 +100,49 @@ public class UserController {
         return Response.ok(check).build();
     }
 
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/verify-tokens")
+    public Response checkAll(TokenBatchRequest request) {
+        if (request == null || request.getTokens() == null || request.getTokens().isEmpty()
+                || request.getTokens().size() > maxBatchSize) {
+            return Response
+                .status(400)
+                .entity(new ErrorResponse()
+                    .code("AUTH_004")
+                    .message("Liste de tokens vide, absente ou trop longue (" + maxBatchSize + " maximum).")
+                ).build();
+        }
+        return Response.ok(userBusiness.checkAll(request)).build();
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/availability")
+    public Response availability(@QueryParam("username") String username,
+                                 @QueryParam("email") String email,
+                                 @Context HttpServletRequest request) {
+        return Response.ok(userBusiness.availability(username, email, clientAddressResolver.resolve(request))).build();
+    }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/revocations")
+    public Response revocations(@HeaderParam(ServiceAuthentication.HEADER) String serviceToken,
+                                @QueryParam("since") Long since) {
+        // Flux réservé à EcommAPI : il expose les identifiants de tous les tokens révoqués
+        if (!serviceAuthentication.accepts(serviceToken)) {
+            return Response
+                .status(401)
+                .entity(new ErrorResponse()
+                    .code(ServiceAuthentication.CODE_UNAUTHORIZED_SERVICE)
+                    .message("Service non autorisé.")
+                ).build();
+        }
+        return Response.ok(userBusiness.revocations(since)).build();
+    }
+
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
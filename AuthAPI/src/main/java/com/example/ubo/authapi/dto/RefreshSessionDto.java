@@ -0,0 +1,50 @@
+package com.example.ubo.authapi.dto;
+
+public class RefreshSessionDto {
+    private String sessionId;
+    private String accountId;
+    private int generation;
+    private long expiresAt;
+
+    public RefreshSessionDto() {
+    }
+
+    public RefreshSessionDto(String sessionId, String accountId, int generation, long expiresAt) {
+        this.sessionId = sessionId;
+        this.accountId = accountId;
+        this.generation = generation;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public void setGeneration(int generation) {
+        this.generation = generation;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
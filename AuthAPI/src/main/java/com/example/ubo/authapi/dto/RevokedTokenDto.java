@@ -0,0 +1,40 @@
+package com.example.ubo.authapi.dto;
+
+public class RevokedTokenDto {
+    private String tokenId;
+    private long expiresAt;
+    private long revokedAt;
+
+    public RevokedTokenDto() {
+    }
+
+    public RevokedTokenDto(String tokenId, long expiresAt, long revokedAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = revokedAt;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public long getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public void setRevokedAt(long revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
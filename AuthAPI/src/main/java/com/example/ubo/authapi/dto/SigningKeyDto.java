@@ -0,0 +1,50 @@
+package com.example.ubo.authapi.dto;
+
+public class SigningKeyDto {
+    private String keyId;
+    private String privateKey;
+    private String publicKey;
+    private long activatesAt;
+
+    public SigningKeyDto() {
+    }
+
+    public SigningKeyDto(String keyId, String privateKey, String publicKey, long activatesAt) {
+        this.keyId = keyId;
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+        this.activatesAt = activatesAt;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public String getPrivateKey() {
+        return privateKey;
+    }
+
+    public String getPublicKey() {
+        return publicKey;
+    }
+
+    public long getActivatesAt() {
+        return activatesAt;
+    }
+
+    public void setKeyId(String keyId) {
+        this.keyId = keyId;
+    }
+
+    public void setPrivateKey(String privateKey) {
+        this.privateKey = privateKey;
+    }
+
+    public void setPublicKey(String publicKey) {
+        this.publicKey = publicKey;
+    }
+
+    public void setActivatesAt(long activatesAt) {
+        this.activatesAt = activatesAt;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ubo.authapi.exceptions;
+
+public class RetryLaterException extends RuntimeException {
+
+    private final int status;
+    private final String code;
+    private final long retryAfterSeconds;
+
+    public RetryLaterException(int status, String code, String message, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.code = code;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.ubo.authapi.filters;
+
+import com.example.ubo.authapi.util.ContentCoding;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses JSON and text responses with gzip, or deflate, as negotiated by Accept-Encoding.
+ * The first minSize bytes are held back: a body that ends before the threshold is sent as is,
+ * with its Content-Length. Deflaters are pooled since each one holds native memory.
+ */
+@Priority(Priorities.ENTITY_CODER)
+public class CompressionInterceptor implements WriterInterceptor {
+    // Deflaters gardés entre deux réponses, par format ; au-delà ils sont libérés
+    private static final int POOL_SIZE = 64;
+
+    private final int minSize;
+    private final int level;
+    private final BlockingQueue<Deflater> gzipDeflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+    private final BlockingQueue<Deflater> zlibDeflaters = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    @Context
+    private HttpHeaders requestHeaders;
+
+    public CompressionInterceptor(int minSize, int level) {
+        this.minSize = minSize;
+        this.level = level;
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        MultivaluedMap<String, Object> headers = context.getHeaders();
+        // Corps déjà compressé ou format qui ne gagne rien à l'être
+        if (headers.containsKey(HttpHeaders.CONTENT_ENCODING) || !isCompressible(context.getMediaType())) {
+            context.proceed();
+            return;
+        }
+        if (!String.valueOf(headers.get(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING))
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String coding = negotiate(requestHeaders != null ? requestHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING) : null);
+        if (coding == null) {
+            context.proceed();
+            return;
+        }
+
+        boolean gzip = coding.equals(ContentCoding.GZIP);
+        CompressingOutputStream output = new CompressingOutputStream(context.getOutputStream(), minSize, gzip,
+                gzip ? gzipDeflaters : zlibDeflaters, level, () -> {
+                    headers.putSingle(HttpHeaders.CONTENT_ENCODING, coding);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                });
+        context.setOutputStream(output);
+        try {
+            context.proceed();
+            output.finish();
+        } finally {
+            output.release();
+        }
+    }
+
+    static String negotiate(String acceptEncoding) {
+        if (ContentCoding.accepts(acceptEncoding, ContentCoding.GZIP))
+            return ContentCoding.GZIP;
+        if (ContentCoding.accepts(acceptEncoding, ContentCoding.DEFLATE))
+            return ContentCoding.DEFLATE;
+        return null;
+    }
+
+    private static boolean isCompressible(MediaType mediaType) {
+        if (mediaType == null)
+            return false;
+        String subtype = mediaType.getSubtype();
+        return mediaType.getType().equals("text")
+                || subtype.equals("json") || subtype.endsWith("+json")
+                || subtype.equals("xml") || subtype.endsWith("+xml");
+    }
+
+    /**
+     * Buffers up to minSize bytes, then switches to compressed output, calling onCompress first so
+     * that the headers still go out with the first compressed bytes. A flush once compressing
+     * sends everything written so far, for streamed responses.
+     */
+    static final class CompressingOutputStream extends OutputStream {
+        private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+        private final OutputStream target;
+        private final boolean gzip;
+        private final BlockingQueue<Deflater> pool;
+        private final int level;
+        private final Runnable onCompress;
+        private final byte[] pending;
+        private final byte[] chunk = new byte[8192];
+        private final CRC32 crc = new CRC32();
+        private int pendingCount;
+        private Deflater deflater;
+        private boolean finished;
+
+        CompressingOutputStream(OutputStream target, int minSize, boolean gzip, BlockingQueue<Deflater> pool,
+                                int level, Runnable onCompress) {
+            this.target = target;
+            this.gzip = gzip;
+            this.pool = pool;
+            this.level = level;
+            this.onCompress = onCompress;
+            this.pending = new byte[Math.max(minSize, 1)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (finished)
+                throw new IOException("Stream already finished");
+            if (deflater == null) {
+                if (pendingCount + len <= pending.length) {
+                    System.arraycopy(b, off, pending, pendingCount, len);
+                    pendingCount += len;
+                    return;
+                }
+                start();
+            }
+            deflate(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // Sous le seuil, rien n'est envoyé : la taille finale n'est pas encore connue
+            if (deflater == null || finished)
+                return;
+            int count;
+            while ((count = deflater.deflate(chunk, 0, chunk.length, Deflater.SYNC_FLUSH)) > 0) {
+                target.write(chunk, 0, count);
+                if (count < chunk.length)
+                    break;
+            }
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        void finish() throws IOException {
+            if (finished)
+                return;
+            finished = true;
+            if (deflater == null) {
+                target.write(pending, 0, pendingCount);
+                return;
+            }
+            deflater.finish();
+            while (!deflater.finished())
+                target.write(chunk, 0, deflater.deflate(chunk));
+            if (gzip) {
+                writeIntLE(crc.getValue());
+                writeIntLE(deflater.getBytesRead());
+            }
+            release();
+        }
+
+        void release() {
+            if (deflater == null)
+                return;
+            deflater.reset();
+            if (!pool.offer(deflater))
+                deflater.end();
+            deflater = null;
+            finished = true;
+        }
+
+        private void start() throws IOException {
+            onCompress.run();
+            Deflater pooled = pool.poll();
+            deflater = pooled != null ? pooled : new Deflater(level, gzip);
+            if (gzip)
+                target.write(GZIP_HEADER);
+            deflate(pending, 0, pendingCount);
+        }
+
+        private void deflate(byte[] b, int off, int len) throws IOException {
+            if (gzip)
+                crc.update(b, off, len);
+            deflater.setInput(b, off, len);
+            while (!deflater.needsInput()) {
+                int count = deflater.deflate(chunk);
+                if (count > 0)
+                    target.write(chunk, 0, count);
+            }
+        }
+
+        private void writeIntLE(long value) throws IOException {
+            target.write((int) value & 0xff);
+            target.write((int) (value >> 8) & 0xff);
+            target.write((int) (value >> 16) & 0xff);
+            target.write((int) (value >> 24) & 0xff);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ubo.authapi.handlers;
+
+import com.example.ubo.authapi.exceptions.RetryLaterException;
+import dto.authapi.ErrorResponse;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import java.util.logging.Logger;
+
+@Provider
+public class RetryLaterExceptionHandler implements ExceptionMapper<RetryLaterException> {
+    private static final Logger logger = Logger.getLogger(RetryLaterExceptionHandler.class.getName());
+
+    @Override
+    public Response toResponse(RetryLaterException e) {
+        logger.warning(e.getCode() + ": " + e.getMessage());
+
+        return Response
+                .status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, e.getRetryAfterSeconds())
+                .entity(new ErrorResponse().code(e.getCode()).message(e.getMessage()))
+                .build();
+    }
+}
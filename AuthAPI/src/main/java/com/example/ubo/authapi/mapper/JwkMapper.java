@@ -0,0 +1,47 @@
+package com.example.ubo.authapi.mapper;
+
+import dto.authapi.Jwk;
+import dto.authapi.JwkSet;
+
+import java.math.BigInteger;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+public class JwkMapper {
+
+    private JwkMapper() {
+        // Prevent instantiation
+    }
+
+    public static Jwk toDto(String keyId, RSAPublicKey key) {
+        if (key == null)
+            return null;
+        Jwk jwk = new Jwk();
+        jwk.setKty("RSA");
+        jwk.setKid(keyId);
+        jwk.setUse("sig");
+        jwk.setAlg("RS256");
+        jwk.setN(toBase64Url(key.getModulus()));
+        jwk.setE(toBase64Url(key.getPublicExponent()));
+        return jwk;
+    }
+
+    public static JwkSet toDto(Map<String, RSAPublicKey> keys) {
+        JwkSet jwkSet = new JwkSet();
+        jwkSet.setKeys(keys.entrySet().stream()
+                .map(e -> toDto(e.getKey(), e.getValue()))
+                .toList());
+        return jwkSet;
+    }
+
+    // RFC 7518 : entiers non signés, big-endian, sans octet de signe
+    private static String toBase64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
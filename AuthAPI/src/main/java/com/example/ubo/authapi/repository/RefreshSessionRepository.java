@@ -0,0 +1,64 @@
+package com.example.ubo.authapi.repository;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.ubo.authapi.dto.RefreshSessionDto;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+public class RefreshSessionRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RefreshSessionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private final static String SQL_INSERT_SESSION = "INSERT INTO REFRESH_SESSION (ID, ACCOUNT_ID, GENERATION, EXPIRES_AT)" +
+            " VALUES (:id, :accountId, :generation, :expiresAt);";
+
+    // Conditionnel : deux refresh concurrents avec le même token ne peuvent pas réussir tous les deux
+    private final static String SQL_ADVANCE_SESSION = "UPDATE REFRESH_SESSION SET GENERATION = GENERATION + 1" +
+            " WHERE ID = :id AND GENERATION = :generation AND EXPIRES_AT > :now;";
+
+    private final static String SQL_DELETE_SESSION = "DELETE FROM REFRESH_SESSION WHERE ID = :id;";
+
+    private final static String SQL_DELETE_EXPIRED = "DELETE FROM REFRESH_SESSION WHERE EXPIRES_AT <= :now;";
+
+    public void addSession(RefreshSessionDto session) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", session.getSessionId());
+        params.put("accountId", Integer.parseInt(session.getAccountId()));
+        params.put("generation", session.getGeneration());
+        params.put("expiresAt", session.getExpiresAt());
+        jdbcTemplate.update(SQL_INSERT_SESSION, params);
+    }
+
+    /**
+     * Moves the session to the next generation if it is still at the given one and not expired.
+     *
+     * @return true when the session was advanced
+     */
+    public boolean advanceSession(String id, int generation, long now) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", id);
+        params.put("generation", generation);
+        params.put("now", now);
+        return jdbcTemplate.update(SQL_ADVANCE_SESSION, params) == 1;
+    }
+
+    public void deleteSession(String id) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", id);
+        jdbcTemplate.update(SQL_DELETE_SESSION, params);
+    }
+
+    public int deleteExpiredSessions(long now) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("now", now);
+        return jdbcTemplate.update(SQL_DELETE_EXPIRED, params);
+    }
+}
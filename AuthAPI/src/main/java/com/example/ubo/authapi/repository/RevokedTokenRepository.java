@@ -0,0 +1,53 @@
+package com.example.ubo.authapi.repository;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.ubo.authapi.dto.RevokedTokenDto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class RevokedTokenRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RevokedTokenRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    private final static String SQL_INSERT_REVOKED_TOKEN = "INSERT IGNORE INTO REVOKED_TOKEN (JTI, EXPIRES_AT, REVOKED_AT)" +
+            " VALUES (:jti, :expiresAt, :revokedAt);";
+
+    private final static String SQL_SELECT_REVOKED_SINCE = "SELECT JTI, EXPIRES_AT, REVOKED_AT FROM REVOKED_TOKEN" +
+            " WHERE REVOKED_AT >= :since AND EXPIRES_AT > :now;";
+
+    private final static String SQL_DELETE_EXPIRED = "DELETE FROM REVOKED_TOKEN WHERE EXPIRES_AT <= :now;";
+
+    public void addRevokedToken(RevokedTokenDto revokedToken) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("jti", revokedToken.getTokenId());
+        params.put("expiresAt", revokedToken.getExpiresAt());
+        params.put("revokedAt", revokedToken.getRevokedAt());
+        jdbcTemplate.update(SQL_INSERT_REVOKED_TOKEN, params);
+    }
+
+    public List<RevokedTokenDto> getRevokedTokensSince(long since, long now) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("since", since);
+        params.put("now", now);
+        return jdbcTemplate.query(SQL_SELECT_REVOKED_SINCE, params, (r, s) -> new RevokedTokenDto(
+                r.getString("JTI"),
+                r.getLong("EXPIRES_AT"),
+                r.getLong("REVOKED_AT")
+        ));
+    }
+
+    public int deleteExpiredTokens(long now) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("now", now);
+        return jdbcTemplate.update(SQL_DELETE_EXPIRED, params);
+    }
+}
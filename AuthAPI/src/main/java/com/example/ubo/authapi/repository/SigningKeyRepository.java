@@ -0,0 +1,82 @@
+package com.example.ubo.authapi.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import com.example.ubo.authapi.dto.SigningKeyDto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class SigningKeyRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SigningKeyRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Verrou nommé MariaDB : une seule instance à la fois vérifie puis insère la clé suivante
+    private final static String SQL_GET_ROTATION_LOCK = "SELECT GET_LOCK('authapi_signing_key_rotation', :timeout);";
+
+    private final static String SQL_RELEASE_ROTATION_LOCK = "SELECT RELEASE_LOCK('authapi_signing_key_rotation');";
+
+    // Wait for the replica currently rotating, in seconds
+    private final static int ROTATION_LOCK_TIMEOUT = 10;
+
+    // N'insère rien si une autre instance a déjà créé une clé plus récente que :notAfter (rotations concurrentes)
+    private final static String SQL_INSERT_KEY_IF_DUE = "INSERT INTO SIGNING_KEY (KID, PRIVATE_KEY, PUBLIC_KEY, ACTIVATES_AT)" +
+            " SELECT :kid, :privateKey, :publicKey, :activatesAt FROM DUAL" +
+            " WHERE NOT EXISTS (SELECT 1 FROM SIGNING_KEY WHERE ACTIVATES_AT > :notAfter);";
+
+    private final static String SQL_SELECT_ALL_KEYS = "SELECT KID, PRIVATE_KEY, PUBLIC_KEY, ACTIVATES_AT FROM SIGNING_KEY" +
+            " ORDER BY ACTIVATES_AT DESC;";
+
+    private final static String SQL_DELETE_KEY = "DELETE FROM SIGNING_KEY WHERE KID = :kid;";
+
+    /**
+     * Inserts the key unless one activating after notAfter already exists. Replicas are
+     * serialized by a named lock; false means another instance rotated (or still holds the lock).
+     */
+    public boolean addKeyIfNoneAfter(SigningKeyDto key, long notAfter) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("kid", key.getKeyId());
+        params.put("privateKey", key.getPrivateKey());
+        params.put("publicKey", key.getPublicKey());
+        params.put("activatesAt", key.getActivatesAt());
+        params.put("notAfter", notAfter);
+        params.put("timeout", ROTATION_LOCK_TIMEOUT);
+        // GET_LOCK est lié à la connexion : verrou, insertion et libération sur la même
+        Boolean inserted = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection -> {
+            NamedParameterJdbcTemplate locked = new NamedParameterJdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer acquired = locked.queryForObject(SQL_GET_ROTATION_LOCK, params, Integer.class);
+            if (acquired == null || acquired != 1)
+                return false;
+            try {
+                return locked.update(SQL_INSERT_KEY_IF_DUE, params) > 0;
+            } finally {
+                locked.queryForObject(SQL_RELEASE_ROTATION_LOCK, params, Integer.class);
+            }
+        });
+        return Boolean.TRUE.equals(inserted);
+    }
+
+    public List<SigningKeyDto> getAllKeys() {
+        return jdbcTemplate.query(SQL_SELECT_ALL_KEYS, (r, s) -> new SigningKeyDto(
+                r.getString("KID"),
+                r.getString("PRIVATE_KEY"),
+                r.getString("PUBLIC_KEY"),
+                r.getLong("ACTIVATES_AT")
+        ));
+    }
+
+    public void deleteKey(String kid) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("kid", kid);
+        jdbcTemplate.update(SQL_DELETE_KEY, params);
+    }
+}
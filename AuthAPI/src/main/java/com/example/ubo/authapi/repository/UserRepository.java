@@ -1,12 +1,22 @@
 package com.example.ubo.authapi.repository;
 
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Component;
 
 import com.example.ubo.authapi.dto.UserRepositoryDto;
 
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 @Component
 public class UserRepository {
@@ -20,6 +30,20 @@ public class UserRepository {
     private final static String SQL_INSERT_ACCOUNT = "INSERT INTO ACCOUNT (EMAIL, USERNAME, PASSWORD, FIRSTNAME, LASTNAME, ADMIN)" +
             " VALUES (:email, :username, :password, :firstname, :lastname, :admin);";
 
+    private final static String SQL_INSERT_IGNORE_ACCOUNT = "INSERT IGNORE INTO ACCOUNT (EMAIL, USERNAME, PASSWORD, FIRSTNAME, LASTNAME, ADMIN)" +
+            " VALUES (:email, :username, :password, :firstname, :lastname, :admin);";
+
+    private final static String SQL_SELECT_EXISTING_ACCOUNTS = "SELECT USERNAME, EMAIL FROM ACCOUNT" +
+            " WHERE USERNAME IN (:usernames) OR EMAIL IN (:emails);";
+
+    private final static int FETCH_SIZE = 1000;
+
+    private final static String SQL_SELECT_ALL_KEYS = "SELECT USERNAME, EMAIL FROM ACCOUNT;";
+
+    private final static String SQL_COUNT_ACCOUNTS = "SELECT COUNT(*) FROM ACCOUNT;";
+
+    private final static String SQL_UPDATE_PASSWORD = "UPDATE ACCOUNT SET PASSWORD = :password WHERE ID = :id;";
+
     private final static String SQL_SELECT_ACCOUNT_BY_UNAME = "SELECT * FROM ACCOUNT WHERE USERNAME = :username;";
 
     private final static String SQL_SELECT_ACCOUNT_BY_MAIL = "SELECT * FROM ACCOUNT WHERE EMAIL = :email;";
@@ -32,10 +56,76 @@ public class UserRepository {
         params.put("lastname", user.getLastName());
         params.put("firstname", user.getFirstName());
         params.put("admin", user.isAdmin() ? 1 : 0); // TINYINT(1) -> 0 ou 1
-        jdbcTemplate.update(SQL_INSERT_ACCOUNT, params);
+        // Les contraintes UNIQUE sur USERNAME et EMAIL lèvent une DuplicateKeyException en cas de doublon
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(SQL_INSERT_ACCOUNT, new MapSqlParameterSource(params), keyHolder, new String[]{"ID"});
+        user.setId(String.valueOf(keyHolder.getKey().intValue()));
         return user;
     }
 
+    /**
+     * Inserts the users in a single JDBC batch; rows hitting a unique constraint are skipped
+     * and get an update count of 0 instead of failing the whole batch. Relies on the driver's
+     * bulk mode being off (useBulkStmts=false), which is the only way to get per-row counts.
+     */
+    public int[] addUsersIgnoringDuplicates(List<UserRepositoryDto> users) {
+        SqlParameterSource[] batch = users.stream()
+                .map(user -> new MapSqlParameterSource()
+                        .addValue("email", user.getEmail())
+                        .addValue("username", user.getUsername())
+                        .addValue("password", user.getPassword())
+                        .addValue("lastname", user.getLastName())
+                        .addValue("firstname", user.getFirstName())
+                        .addValue("admin", user.isAdmin() ? 1 : 0))
+                .toArray(SqlParameterSource[]::new);
+        int[] counts = jdbcTemplate.batchUpdate(SQL_INSERT_IGNORE_ACCOUNT, batch);
+        // Mode « bulk » du driver : aucun compte par ligne, l'import ne saurait plus ce qu'il a créé
+        if (Arrays.stream(counts).anyMatch(count -> count == Statement.SUCCESS_NO_INFO))
+            throw new IllegalStateException("No per-row update count: the MariaDB driver must run with useBulkStmts=false");
+        return counts;
+    }
+
+    /**
+     * Accounts already holding one of the usernames or emails (username and email only).
+     */
+    public List<UserRepositoryDto> getExistingAccounts(Collection<String> usernames, Collection<String> emails) {
+        if (usernames.isEmpty() && emails.isEmpty())
+            return List.of();
+        Map<String, Object> params = new HashMap<>();
+        // IN () est invalide en SQL : une valeur impossible remplace une liste vide
+        params.put("usernames", usernames.isEmpty() ? List.of("") : usernames);
+        params.put("emails", emails.isEmpty() ? List.of("") : emails);
+        return jdbcTemplate.query(SQL_SELECT_EXISTING_ACCOUNTS, params, (r, s) -> new UserRepositoryDto()
+                .username(r.getString("USERNAME"))
+                .email(r.getString("EMAIL")));
+    }
+
+    /**
+     * Streams the username and email of every account, without materialising the whole table.
+     */
+    public void forEachAccount(BiConsumer<String, String> consumer) {
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SQL_SELECT_ALL_KEYS);
+            // Le driver MariaDB lit alors le résultat par paquets au lieu de tout charger
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, r -> {
+            consumer.accept(r.getString("USERNAME"), r.getString("EMAIL"));
+        });
+    }
+
+    public long countAccounts() {
+        Long count = jdbcTemplate.queryForObject(SQL_COUNT_ACCOUNTS, Map.of(), Long.class);
+        return count != null ? count : 0;
+    }
+
+    public void updatePassword(String id, String password) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", Integer.parseInt(id));
+        params.put("password", password);
+        jdbcTemplate.update(SQL_UPDATE_PASSWORD, params);
+    }
+
     public UserRepositoryDto getAccountByUsername(String username) {
         Map<String, Object> params = new HashMap<>();
         params.put("username", username);
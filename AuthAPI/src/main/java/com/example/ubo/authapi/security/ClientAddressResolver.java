@@ -0,0 +1,96 @@
+package com.example.ubo.authapi.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Address of the client behind the reverse proxy. X-Forwarded-For is read from the right and
+ * only through the hops listed in security.trusted-proxies: the first untrusted address is the
+ * one the proxy saw, entries further left are whatever the client chose to send.
+ */
+@Component
+public class ClientAddressResolver {
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+    private static final Pattern IPV4 = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+
+    private final List<Cidr> trustedProxies;
+
+    public ClientAddressResolver(@Value("${security.trusted-proxies:127.0.0.0/8,::1/128,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16}")
+                                 List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(range -> !range.isEmpty())
+                .map(Cidr::parse)
+                .toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        return resolve(request.getRemoteAddr(), request.getHeader(FORWARDED_FOR));
+    }
+
+    String resolve(String remoteAddress, String forwardedFor) {
+        if (forwardedFor == null || !isTrusted(remoteAddress))
+            return remoteAddress;
+        String[] hops = forwardedFor.split(",");
+        String client = remoteAddress;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            client = hops[i].trim();
+            if (!isTrusted(client))
+                return client;
+        }
+        // Que des proxys de confiance : le plus éloigné est le client
+        return client;
+    }
+
+    private boolean isTrusted(String address) {
+        byte[] bytes = literal(address);
+        if (bytes == null)
+            return false;
+        for (Cidr range : trustedProxies) {
+            if (range.contains(bytes))
+                return true;
+        }
+        return false;
+    }
+
+    // Adresses littérales uniquement : un nom d'hôte dans l'en-tête ne doit jamais déclencher de résolution DNS
+    private static byte[] literal(String address) {
+        if (address == null || !(IPV4.matcher(address).matches() || address.indexOf(':') >= 0))
+            return null;
+        try {
+            return InetAddress.getByName(address).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private record Cidr(byte[] network, int prefix) {
+
+        static Cidr parse(String range) {
+            int slash = range.indexOf('/');
+            byte[] network = literal(slash < 0 ? range : range.substring(0, slash));
+            if (network == null)
+                throw new IllegalArgumentException("Invalid trusted proxy range " + range);
+            int prefix = slash < 0 ? network.length * 8 : Integer.parseInt(range.substring(slash + 1));
+            return new Cidr(network, prefix);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length)
+                return false;
+            int bits = prefix;
+            for (int i = 0; i < address.length && bits > 0; i++, bits -= 8) {
+                int mask = bits >= 8 ? 0xff : (0xff << (8 - bits)) & 0xff;
+                if ((address[i] & mask) != (network[i] & mask))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
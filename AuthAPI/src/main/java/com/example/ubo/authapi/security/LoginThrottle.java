@@ -0,0 +1,85 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.exceptions.RetryLaterException;
+import com.example.ubo.authapi.util.SlidingWindowLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limits /signin attempts per account and per client address, before any password is
+ * checked: a client over its limit costs a map lookup, not a bcrypt match.
+ */
+@Component
+public class LoginThrottle {
+
+    public static final String CODE_THROTTLED = "AUTH_006";
+
+    private final SlidingWindowLimiter byUsername;
+    private final SlidingWindowLimiter byAddress;
+    private final Counter usernameRejections;
+    private final Counter addressRejections;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${security.login-throttle.per-username:10}") int perUsername,
+                         @Value("${security.login-throttle.per-address:50}") int perAddress,
+                         @Value("${security.login-throttle.window:1m}") Duration window,
+                         @Value("${security.login-throttle.max-entries:100000}") int maxEntries) {
+        this.byUsername = new SlidingWindowLimiter(perUsername, window.toMillis(), maxEntries);
+        this.byAddress = new SlidingWindowLimiter(perAddress, window.toMillis(), maxEntries);
+        this.usernameRejections = register(meterRegistry, "username", byUsername);
+        this.addressRejections = register(meterRegistry, "address", byAddress);
+    }
+
+    private static Counter register(MeterRegistry meterRegistry, String key, SlidingWindowLimiter limiter) {
+        Gauge.builder("auth.login.throttle.entries", limiter, SlidingWindowLimiter::size)
+                .description("Keys currently tracked by the login throttle")
+                .tag("key", key)
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.saturated", limiter, SlidingWindowLimiter::saturatedCount)
+                .description("Keys currently at their login attempt limit")
+                .tag("key", key)
+                .register(meterRegistry);
+        return Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected before the password check")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts one login attempt, or throws a 429 when the address or the account is over its limit.
+     */
+    public void acquire(String username, String clientAddress) {
+        if (clientAddress != null) {
+            long wait = byAddress.tryAcquire(clientAddress);
+            if (wait > 0) {
+                addressRejections.increment();
+                throw throttled(wait);
+            }
+        }
+        if (username != null) {
+            long wait = byUsername.tryAcquire(username.toLowerCase(Locale.ROOT));
+            if (wait > 0) {
+                usernameRejections.increment();
+                throw throttled(wait);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-throttle.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        byUsername.evictIdle();
+        byAddress.evictIdle();
+    }
+
+    private static RetryLaterException throttled(long waitMs) {
+        return new RetryLaterException(429, CODE_THROTTLED,
+                "Trop de tentatives de connexion, réessayez plus tard.", (waitMs + 999) / 1000);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.dto.RefreshSessionDto;
+import com.example.ubo.authapi.repository.RefreshSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Refresh token sessions: one REFRESH_SESSION row per login, whose generation moves
+ * forward on every refresh. A refresh token is only accepted for the current generation,
+ * so each one can be used once; replaying an already used one closes the whole session.
+ * Revocation is enforced here, on the refresh path, instead of on every request.
+ */
+@Component
+public class RefreshSessionStore {
+    private static final Logger logger = Logger.getLogger(RefreshSessionStore.class.getName());
+
+    private final RefreshSessionRepository refreshSessionRepository;
+    private final long refreshTokenTtl;
+
+    public RefreshSessionStore(RefreshSessionRepository refreshSessionRepository,
+                               @Value("${jwt.refresh-token-ttl:30d}") Duration refreshTokenTtl) {
+        this.refreshSessionRepository = refreshSessionRepository;
+        this.refreshTokenTtl = refreshTokenTtl.toMillis();
+    }
+
+    public RefreshSessionDto open(String accountId) {
+        RefreshSessionDto session = new RefreshSessionDto(UUID.randomUUID().toString(), accountId, 0,
+                System.currentTimeMillis() + refreshTokenTtl);
+        refreshSessionRepository.addSession(session);
+        return session;
+    }
+
+    /**
+     * Consumes the refresh token of the given generation.
+     *
+     * @return the session at its next generation, or null when the session is closed, expired
+     * or the token was already used
+     */
+    public RefreshSessionDto rotate(String sessionId, String accountId, int generation, long expiresAt) {
+        if (refreshSessionRepository.advanceSession(sessionId, generation, System.currentTimeMillis()))
+            return new RefreshSessionDto(sessionId, accountId, generation + 1, expiresAt);
+        // Token déjà utilisé : potentiellement volé, on ferme la session pour les deux détenteurs
+        logger.warning("Refresh token replayed or session closed: " + sessionId);
+        close(sessionId);
+        return null;
+    }
+
+    public void close(String sessionId) {
+        refreshSessionRepository.deleteSession(sessionId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-session.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            refreshSessionRepository.deleteExpiredSessions(System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.warning("Unable to purge expired refresh sessions: " + e.getMessage());
+        }
+    }
+}
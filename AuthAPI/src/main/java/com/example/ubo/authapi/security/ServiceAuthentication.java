@@ -0,0 +1,35 @@
+package com.example.ubo.authapi.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.logging.Logger;
+
+/**
+ * Authenticates the internal calls made by the other services (EcommAPI) with a shared
+ * secret sent in the X-Service-Token header. Without a configured secret every call is refused.
+ */
+@Component
+public class ServiceAuthentication {
+    private static final Logger logger = Logger.getLogger(ServiceAuthentication.class.getName());
+
+    public static final String HEADER = "X-Service-Token";
+    public static final String CODE_UNAUTHORIZED_SERVICE = "AUTH_008";
+
+    private final byte[] serviceToken;
+
+    public ServiceAuthentication(@Value("${security.service-token:}") String serviceToken) {
+        this.serviceToken = serviceToken.getBytes(StandardCharsets.UTF_8);
+        if (serviceToken.isEmpty())
+            logger.warning("security.service-token is not set: internal endpoints refuse every call");
+    }
+
+    public boolean accepts(String token) {
+        if (serviceToken.length == 0 || token == null)
+            return false;
+        // Comparaison en temps constant : la durée ne révèle pas le préfixe correct
+        return MessageDigest.isEqual(serviceToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
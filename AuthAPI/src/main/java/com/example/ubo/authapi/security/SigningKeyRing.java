@@ -0,0 +1,268 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.dto.SigningKeyDto;
+import com.example.ubo.authapi.repository.SigningKeyRepository;
+import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Token signing keys shared by every AuthAPI replica: one active key signs, the
+ * previous ones (and the next one, published ahead of its activation) are still
+ * accepted for verification and listed in the JWKS.
+ * <p>
+ * Keys come either from the SIGNING_KEY table, where they are rotated on schedule,
+ * or from a PKCS#12 keystore (jwt.keys.source=file) where each alias is a kid and
+ * rotation is done by replacing the file.
+ */
+@Component
+public class SigningKeyRing {
+    private static final Logger logger = Logger.getLogger(SigningKeyRing.class.getName());
+
+    // Minimum delay between two reloads triggered by an unknown kid
+    private static final long MIN_RELOAD_INTERVAL_MS = 5_000;
+    // Kids générés par generateKey() (UUID) et alias acceptables d'un keystore
+    private static final Pattern DATABASE_KEY_ID = Pattern.compile("^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$");
+    private static final Pattern KEYSTORE_KEY_ID = Pattern.compile("^[A-Za-z0-9._-]{1,64}$");
+
+    public record SigningKey(String keyId, PrivateKey privateKey, RSAPublicKey publicKey) {
+    }
+
+    private record Ring(SigningKey active, Map<String, SigningKey> keys) {
+    }
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final String source;
+    private final String keystore;
+    private final String keystorePassword;
+    private final String activeKeyId;
+    private final long rotationInterval;
+    private final long publishAhead;
+    private final long retention;
+    private final LongSupplier clock;
+    // ReentrantLock plutôt que synchronized : pas d'épinglage des threads virtuels pendant l'accès JDBC
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final AtomicLong lastReload = new AtomicLong();
+
+    private volatile Ring ring;
+
+    public SigningKeyRing(SigningKeyRepository signingKeyRepository,
+                          @Value("${jwt.keys.source:db}") String source,
+                          @Value("${jwt.keys.keystore:}") String keystore,
+                          @Value("${jwt.keys.keystore-password:}") String keystorePassword,
+                          @Value("${jwt.keys.active-kid:}") String activeKeyId,
+                          @Value("${jwt.keys.rotation-interval:7d}") Duration rotationInterval,
+                          @Value("${jwt.keys.publish-ahead:10m}") Duration publishAhead,
+                          @Value("${jwt.keys.retention:31d}") Duration retention) {
+        this(signingKeyRepository, source, keystore, keystorePassword, activeKeyId,
+                rotationInterval, publishAhead, retention, System::currentTimeMillis);
+    }
+
+    SigningKeyRing(SigningKeyRepository signingKeyRepository,
+                   String source,
+                   String keystore,
+                   String keystorePassword,
+                   String activeKeyId,
+                   Duration rotationInterval,
+                   Duration publishAhead,
+                   Duration retention,
+                   LongSupplier clock) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.source = source;
+        this.keystore = keystore;
+        this.keystorePassword = keystorePassword;
+        this.activeKeyId = activeKeyId;
+        this.rotationInterval = rotationInterval.toMillis();
+        this.publishAhead = publishAhead.toMillis();
+        this.retention = retention.toMillis();
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    void init() {
+        try {
+            reload(true);
+        } catch (GeneralSecurityException | IOException | DataAccessException e) {
+            throw new IllegalStateException("Unable to load the signing keys", e);
+        }
+    }
+
+    public SigningKey getActiveKey() {
+        return ring.active();
+    }
+
+    public RSAPublicKey getVerificationKey(String keyId) {
+        SigningKey key = ring.keys().get(keyId);
+        if (key == null && reloadForUnknownKey(keyId)) {
+            key = ring.keys().get(keyId);
+        }
+        return key != null ? key.publicKey() : null;
+    }
+
+    public Map<String, RSAPublicKey> getPublishedKeys() {
+        Map<String, RSAPublicKey> published = new LinkedHashMap<>();
+        ring.keys().forEach((kid, key) -> published.put(kid, key.publicKey()));
+        return published;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.refresh-interval-ms:60000}", initialDelayString = "${jwt.keys.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            reload(true);
+        } catch (Exception e) {
+            logger.warning("Unable to refresh the signing keys, keeping the current ones: " + e.getMessage());
+        }
+    }
+
+    // A token signed by a key another replica just created: read the ring again, at most every few seconds.
+    // The interval is claimed without locking, so a flood of unknown kids never queues behind a reload
+    private boolean reloadForUnknownKey(String keyId) {
+        Pattern format = "file".equals(source) ? KEYSTORE_KEY_ID : DATABASE_KEY_ID;
+        if (keyId == null || !format.matcher(keyId).matches())
+            return false;
+        long now = clock.getAsLong();
+        long last = lastReload.get();
+        if (now - last < MIN_RELOAD_INTERVAL_MS || !lastReload.compareAndSet(last, now))
+            return false;
+        try {
+            // Lecture seule : la rotation reste l'affaire du rafraîchissement planifié
+            reload(false);
+        } catch (Exception e) {
+            logger.warning("Unable to reload the signing keys: " + e.getMessage());
+        }
+        return true;
+    }
+
+    private void reload(boolean maintain) throws GeneralSecurityException, IOException {
+        reloadLock.lock();
+        try {
+            long now = clock.getAsLong();
+            lastReload.set(now);
+            ring = "file".equals(source) ? loadKeystore() : loadDatabase(now, maintain);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the ring from the database. With maintain, also creates the next key when one is
+     * due and deletes the keys past retention; without it, nothing is written.
+     */
+    private Ring loadDatabase(long now, boolean maintain) throws GeneralSecurityException {
+        List<SigningKeyDto> rows = signingKeyRepository.getAllKeys();
+        long notAfter = now + publishAhead - rotationInterval;
+        if (maintain && (rows.isEmpty() || rows.get(0).getActivatesAt() <= notAfter)) {
+            // La première clé signe immédiatement, les suivantes sont publiées avant d'être utilisées
+            long activatesAt = rows.isEmpty() ? now : now + publishAhead;
+            try {
+                if (signingKeyRepository.addKeyIfNoneAfter(generateKey(activatesAt), notAfter)) {
+                    logger.info("New signing key created, active from " + activatesAt);
+                }
+            } catch (DataAccessException e) {
+                // Course perdue (verrou, deadlock...) : une autre instance a fait la rotation, on relit ses clés
+                logger.info("Signing key rotation left to another instance: " + e.getMessage());
+            }
+            rows = signingKeyRepository.getAllKeys();
+        }
+        if (rows.isEmpty())
+            throw new GeneralSecurityException("No signing key available yet");
+
+        Map<String, SigningKey> keys = new LinkedHashMap<>();
+        SigningKey active = null;
+        Long retiredAt = null;
+        for (SigningKeyDto row : rows) {
+            // Retirée depuis plus longtemps que la durée de vie d'un token : plus aucun token valide ne l'utilise
+            if (retiredAt != null && retiredAt <= now - retention) {
+                if (maintain)
+                    signingKeyRepository.deleteKey(row.getKeyId());
+                continue;
+            }
+            SigningKey key = toSigningKey(row);
+            keys.put(key.keyId(), key);
+            if (active == null && row.getActivatesAt() <= now) {
+                active = key;
+            }
+            if (row.getActivatesAt() <= now) {
+                retiredAt = row.getActivatesAt();
+            }
+        }
+        if (active == null) {
+            // Horloges décalées entre instances : on signe avec la plus ancienne clé connue
+            active = new ArrayList<>(keys.values()).get(keys.size() - 1);
+        }
+        return new Ring(active, Collections.unmodifiableMap(keys));
+    }
+
+    private Ring loadKeystore() throws GeneralSecurityException, IOException {
+        char[] password = keystorePassword.toCharArray();
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(Path.of(keystore))) {
+            keyStore.load(in, password);
+        }
+        Map<String, SigningKey> keys = new LinkedHashMap<>();
+        for (String alias : Collections.list(keyStore.aliases())) {
+            Key key = keyStore.getKey(alias, password);
+            Certificate certificate = keyStore.getCertificate(alias);
+            if (key instanceof PrivateKey privateKey && certificate != null
+                    && certificate.getPublicKey() instanceof RSAPublicKey publicKey) {
+                keys.put(alias, new SigningKey(alias, privateKey, publicKey));
+            }
+        }
+        if (keys.isEmpty())
+            throw new GeneralSecurityException("No RSA key pair in " + keystore);
+        SigningKey active = activeKeyId.isEmpty() ? keys.values().iterator().next() : keys.get(activeKeyId);
+        if (active == null)
+            throw new GeneralSecurityException("Active key " + activeKeyId + " not found in " + keystore);
+        return new Ring(active, Collections.unmodifiableMap(keys));
+    }
+
+    private static SigningKeyDto generateKey(long activatesAt) {
+        KeyPair keyPair = Jwts.SIG.RS256.keyPair().build();
+        Base64.Encoder encoder = Base64.getEncoder();
+        return new SigningKeyDto(
+                UUID.randomUUID().toString(),
+                encoder.encodeToString(keyPair.getPrivate().getEncoded()),
+                encoder.encodeToString(keyPair.getPublic().getEncoded()),
+                activatesAt
+        );
+    }
+
+    private static SigningKey toSigningKey(SigningKeyDto row) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getDecoder();
+        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+        PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decoder.decode(row.getPrivateKey())));
+        RSAPublicKey publicKey = (RSAPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(decoder.decode(row.getPublicKey())));
+        return new SigningKey(row.getKeyId(), privateKey, publicKey);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.exceptions.RetryLaterException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Verifies the tokens of POST /verify-tokens on a dedicated, bounded pool rather than the
+ * common ForkJoinPool: a flood of large batches then answers 503 instead of starving the
+ * rest of the JVM of CPU.
+ */
+@Component
+public class TokenBatchVerifier {
+
+    private final int poolSize;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public TokenBatchVerifier(MeterRegistry meterRegistry,
+                              @Value("${jwt.verify-batch.threads:0}") int threads,
+                              @Value("${jwt.verify-batch.queue-capacity:32}") int queueCapacity,
+                              @Value("${jwt.verify-batch.timeout-ms:5000}") long timeoutMs,
+                              @Value("${jwt.verify-batch.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "token-batch-verifier-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("auth.token.batch.rejected")
+                .description("Token batches refused because the verification pool was saturated")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies check to every token, in order, spreading the batch over the pool threads.
+     */
+    public <R> List<R> verifyAll(List<String> tokens, Function<String, R> check) {
+        // Une tâche par thread au plus : la file compte des morceaux de lot, pas des tokens
+        int chunkSize = Math.max(1, (tokens.size() + poolSize - 1) / poolSize);
+        List<Future<List<R>>> futures = new ArrayList<>();
+        try {
+            for (int from = 0; from < tokens.size(); from += chunkSize) {
+                List<String> chunk = tokens.subList(from, Math.min(from + chunkSize, tokens.size()));
+                futures.add(executor.submit(() -> chunk.stream().map(check).toList()));
+            }
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            List<R> responses = new ArrayList<>(tokens.size());
+            for (Future<List<R>> future : futures) {
+                responses.addAll(future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            }
+            return responses;
+        } catch (RejectedExecutionException | TimeoutException e) {
+            cancel(futures);
+            rejected.increment();
+            throw overloaded();
+        } catch (InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            cancel(futures);
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void cancel(List<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+
+    private RetryLaterException overloaded() {
+        return new RetryLaterException(503, PasswordHasher.CODE_OVERLOADED,
+                "Service momentanément surchargé, réessayez dans quelques instants.", retryAfterSeconds);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.dto.RevokedTokenDto;
+import com.example.ubo.authapi.repository.RevokedTokenRepository;
+import com.example.ubo.authapi.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.logging.Logger;
+
+/**
+ * Revoked token ids (jti), bucketed by token expiry so that a whole bucket is dropped
+ * once every token it holds has expired. Revocations are written through to the
+ * REVOKED_TOKEN table and replicas pick up each other's entries on every sync.
+ * A Bloom filter sits in front of the buckets: almost every token checked was never
+ * revoked, and for those the lookup stops at the filter.
+ */
+@Component
+public class TokenRevocationStore {
+    private static final Logger logger = Logger.getLogger(TokenRevocationStore.class.getName());
+
+    private static final long BUCKET_WIDTH_MS = 60_000;
+    // Overlap between two syncs, absorbs clock skew between replicas
+    private static final long SYNC_OVERLAP_MS = 5_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    // bucket start (expiry floored to BUCKET_WIDTH_MS) -> ids of the revoked tokens expiring in it
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    private volatile long lastSync;
+    // Rebuilt whenever buckets are purged, so bits of expired tokens do not pile up
+    private volatile BloomFilter bloomFilter;
+
+    private final Counter bloomNegatives;
+    private final Counter bloomFalsePositives;
+    private final Counter revokedHits;
+
+    public TokenRevocationStore(RevokedTokenRepository revokedTokenRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${jwt.revocation.bloom.expected-insertions:100000}") long expectedInsertions,
+                                @Value("${jwt.revocation.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        this.bloomNegatives = lookupCounter(meterRegistry, "not_revoked");
+        this.bloomFalsePositives = lookupCounter(meterRegistry, "false_positive");
+        this.revokedHits = lookupCounter(meterRegistry, "revoked");
+        Gauge.builder("auth.revocation.bloom.false_positive_rate", this, TokenRevocationStore::observedFalsePositiveRate)
+                .description("Share of never revoked tokens the Bloom filter failed to clear")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.expected_false_positive_rate", this, s -> s.bloomFilter.expectedFalsePositiveRate())
+                .description("False positive probability given the current fill of the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.size", this, TokenRevocationStore::size)
+                .description("Revoked tokens not expired yet")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        sync();
+    }
+
+    public void revoke(String tokenId, long expiresAt) {
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now)
+            return;
+        add(tokenId, expiresAt);
+        revokedTokenRepository.addRevokedToken(new RevokedTokenDto(tokenId, expiresAt, now));
+    }
+
+    public boolean isRevoked(String tokenId, long expiresAt) {
+        if (!bloomFilter.mightContain(tokenId)) {
+            bloomNegatives.increment();
+            return false;
+        }
+        Set<String> bucket = buckets.get(bucketOf(expiresAt));
+        boolean revoked = bucket != null && bucket.contains(tokenId);
+        (revoked ? revokedHits : bloomFalsePositives).increment();
+        return revoked;
+    }
+
+    public List<String> getRevokedTokenIds(long since) {
+        return revokedTokenRepository.getRevokedTokensSince(since, System.currentTimeMillis()).stream()
+                .map(RevokedTokenDto::getTokenId)
+                .toList();
+    }
+
+    public int size() {
+        return buckets.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}", initialDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        try {
+            for (RevokedTokenDto revoked : revokedTokenRepository.getRevokedTokensSince(Math.max(0, lastSync - SYNC_OVERLAP_MS), now)) {
+                add(revoked.getTokenId(), revoked.getExpiresAt());
+            }
+            lastSync = now;
+            revokedTokenRepository.deleteExpiredTokens(now);
+        } catch (Exception e) {
+            logger.warning("Unable to sync revoked tokens: " + e.getMessage());
+        }
+        purge(now);
+    }
+
+    // Synchronized with the rebuild so that a revocation can never be missing from the filter
+    private synchronized void add(String tokenId, long expiresAt) {
+        buckets.computeIfAbsent(bucketOf(expiresAt), k -> ConcurrentHashMap.newKeySet()).add(tokenId);
+        bloomFilter.put(tokenId);
+    }
+
+    // Every bucket ending before now only holds expired tokens
+    private synchronized void purge(long now) {
+        var expired = buckets.headMap(bucketOf(now));
+        if (expired.isEmpty())
+            return;
+        expired.clear();
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, 2L * size()), falsePositiveRate);
+        buckets.values().forEach(bucket -> bucket.forEach(rebuilt::put));
+        bloomFilter = rebuilt;
+    }
+
+    private double observedFalsePositiveRate() {
+        double falsePositives = bloomFalsePositives.count();
+        double notRevoked = falsePositives + bloomNegatives.count();
+        return notRevoked == 0 ? 0 : falsePositives / notRevoked;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.revocation.lookups")
+                .description("Revocation checks by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static long bucketOf(long expiresAt) {
+        return expiresAt - Math.floorMod(expiresAt, BUCKET_WIDTH_MS);
+    }
+}
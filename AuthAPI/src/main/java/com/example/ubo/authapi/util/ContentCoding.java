@@ -0,0 +1,45 @@
+package com.example.ubo.authapi.util;
+
+import java.util.Locale;
+
+/**
+ * Reads an Accept-Encoding header: a coding is accepted when listed, or covered by "*",
+ * with a non-zero quality.
+ */
+public final class ContentCoding {
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private ContentCoding() {
+        // Prevent instantiation
+    }
+
+    public static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank())
+            return false;
+        Boolean wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(coding))
+                return quality(parts) > 0;
+            if (name.equals("*"))
+                wildcard = quality(parts) > 0;
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.ubo.authapi.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key rate limiter using the sliding window counter approximation: the count of the
+ * previous fixed window, weighted by how much of it still overlaps the sliding window,
+ * plus the count of the current one. Two counters per key, whatever the limit.
+ * Each key has its own lock, so contention only happens between requests for the same key.
+ * Memory is bounded by {@code maxEntries}: once full, the least used keys are evicted (Caffeine's
+ * frequency-based policy), so a flood of one-off keys neither switches the limiter off nor
+ * throttles the keys it never saw. Keys idle for two windows expire.
+ */
+public class SlidingWindowLimiter {
+
+    private final int limit;
+    private final long windowMs;
+    private final LongSupplier clock;
+    private final Cache<String, Window> windows;
+
+    public SlidingWindowLimiter(int limit, long windowMs, int maxEntries) {
+        this(limit, windowMs, maxEntries, System::currentTimeMillis);
+    }
+
+    SlidingWindowLimiter(int limit, long windowMs, int maxEntries, LongSupplier clock) {
+        if (limit <= 0 || windowMs <= 0)
+            throw new IllegalArgumentException("Limit and window must be positive");
+        this.limit = limit;
+        this.windowMs = windowMs;
+        this.clock = clock;
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                // Sans tentative depuis deux fenêtres, le compteur ne pèse plus rien
+                .expireAfterAccess(Duration.ofMillis(2 * windowMs))
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                // Maintenance sur le thread appelant : coût amorti, taille exacte pour les gauges
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Counts one hit for the key.
+     *
+     * @return 0 when the hit is allowed, otherwise the number of milliseconds before a new hit may be allowed
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        // Table pleine : la clé la moins utilisée est évincée, jamais mise en commun avec une autre
+        Window window = windows.get(key, k -> new Window(now));
+        return window.tryAcquire(now, limit, windowMs);
+    }
+
+    /**
+     * Drops the keys that saw no hit for two windows, their count no longer weighs anything.
+     *
+     * @return the number of keys removed
+     */
+    public int evictIdle() {
+        long before = windows.estimatedSize();
+        windows.cleanUp();
+        return (int) (before - windows.estimatedSize());
+    }
+
+    public int size() {
+        return (int) windows.estimatedSize();
+    }
+
+    /**
+     * Number of keys currently at their limit.
+     */
+    public int saturatedCount() {
+        long now = clock.getAsLong();
+        int count = 0;
+        for (Window window : windows.asMap().values()) {
+            if (window.isSaturated(now, limit, windowMs))
+                count++;
+        }
+        return count;
+    }
+
+    private static final class Window {
+        private long start;
+        private int current;
+        private int previous;
+
+        Window(long now) {
+            this.start = now;
+        }
+
+        synchronized long tryAcquire(long now, int limit, long windowMs) {
+            roll(now, windowMs);
+            long remaining = windowMs - (now - start);
+            if (estimate(remaining, windowMs) + 1 <= limit) {
+                current++;
+                return 0;
+            }
+            if (current >= limit || previous == 0)
+                return Math.max(1, remaining);
+            // Temps pour que la part de la fenêtre précédente descende assez
+            double wait = remaining - (double) (limit - 1 - current) * windowMs / previous;
+            return Math.max(1, (long) Math.ceil(wait));
+        }
+
+        synchronized boolean isSaturated(long now, int limit, long windowMs) {
+            roll(now, windowMs);
+            return estimate(windowMs - (now - start), windowMs) + 1 > limit;
+        }
+
+        private double estimate(long remaining, long windowMs) {
+            return previous * ((double) remaining / windowMs) + current;
+        }
+
+        private void roll(long now, long windowMs) {
+            long elapsed = now - start;
+            if (elapsed < windowMs)
+                return;
+            previous = elapsed < 2 * windowMs ? current : 0;
+            current = 0;
+            start = now - elapsed % windowMs;
+        }
+    }
+}
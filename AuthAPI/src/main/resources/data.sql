@@ -7,4 +7,33 @@ CREATE TABLE ACCOUNT (
    PASSWORD VARCHAR(255) NOT NULL,
    FIRSTNAME VARCHAR(255),
    LASTNAME VARCHAR(255)
-) ENGINE=InnoDB CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
\ No newline at end of file
+) ENGINE=InnoDB CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Tokens révoqués (logout), partagés entre les instances. Les dates sont des epoch en millisecondes.
+CREATE TABLE IF NOT EXISTS REVOKED_TOKEN (
+   JTI VARCHAR(36) PRIMARY KEY,
+   EXPIRES_AT BIGINT NOT NULL,
+   REVOKED_AT BIGINT NOT NULL,
+   INDEX IDX_REVOKED_TOKEN_EXPIRES_AT (EXPIRES_AT),
+   INDEX IDX_REVOKED_TOKEN_REVOKED_AT (REVOKED_AT)
+) ENGINE=InnoDB CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Clés de signature des tokens, partagées entre les instances. ACTIVATES_AT (epoch ms) : une clé est publiée
+-- dans le JWKS dès son insertion mais ne signe qu'à partir de cet instant, le temps que les services la récupèrent.
+CREATE TABLE IF NOT EXISTS SIGNING_KEY (
+   KID VARCHAR(36) PRIMARY KEY,
+   PRIVATE_KEY TEXT NOT NULL,
+   PUBLIC_KEY TEXT NOT NULL,
+   ACTIVATES_AT BIGINT NOT NULL,
+   INDEX IDX_SIGNING_KEY_ACTIVATES_AT (ACTIVATES_AT)
+) ENGINE=InnoDB CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Sessions de refresh token : une ligne par connexion. GENERATION est incrémentée à chaque /refresh,
+-- un refresh token d'une génération passée (déjà utilisé) est refusé et ferme la session.
+CREATE TABLE IF NOT EXISTS REFRESH_SESSION (
+   ID VARCHAR(36) PRIMARY KEY,
+   ACCOUNT_ID INT NOT NULL,
+   GENERATION INT NOT NULL,
+   EXPIRES_AT BIGINT NOT NULL,
+   INDEX IDX_REFRESH_SESSION_EXPIRES_AT (EXPIRES_AT)
+) ENGINE=InnoDB CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,79 @@
+package com.example.ubo.authapi.business;
+
+import com.example.ubo.authapi.dto.UserRepositoryDto;
+import com.example.ubo.authapi.repository.UserRepository;
+import dto.authapi.AvailabilityResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityBusinessTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AvailabilityBusiness availabilityBusiness;
+
+    @BeforeEach
+    public void setUp() {
+        when(userRepository.countAccounts()).thenReturn(1L);
+        doAnswer(invocation -> {
+            invocation.<BiConsumer<String, String>>getArgument(0).accept("Waldo", "waldo@example.com");
+            return null;
+        }).when(userRepository).forEachAccount(any());
+        availabilityBusiness = new AvailabilityBusiness(userRepository, new SimpleMeterRegistry(), 1000, 0.01, 100, Duration.ofMinutes(1));
+        availabilityBusiness.load();
+    }
+
+    @Test
+    public void testFreeValueAnsweredWithoutQuery() {
+        AvailabilityResponse response = availabilityBusiness.check("newcomer", "newcomer@example.com", "10.0.0.1");
+
+        assertTrue(response.isUsernameAvailable());
+        assertTrue(response.isEmailAvailable());
+        verify(userRepository, never()).getAccountByUsername(anyString());
+        verify(userRepository, never()).getAccountByEmail(anyString());
+    }
+
+    @Test
+    public void testPossibleHitIsConfirmedInDatabase() {
+        when(userRepository.getAccountByUsername("waldo")).thenReturn(new UserRepositoryDto().username("Waldo"));
+
+        assertFalse(availabilityBusiness.check("waldo", null, "10.0.0.1").isUsernameAvailable());
+    }
+
+    @Test
+    public void testAddedAccountIsNoLongerFree() {
+        availabilityBusiness.add("Fresh", "fresh@example.com");
+        when(userRepository.getAccountByEmail("FRESH@example.com")).thenReturn(new UserRepositoryDto().email("fresh@example.com"));
+
+        assertFalse(availabilityBusiness.check(null, "FRESH@example.com", "10.0.0.1").isEmailAvailable());
+    }
+
+    @Test
+    public void testAccentedVariantIsConfirmedInDatabase() {
+        // La collation considère « Wäldo » et « Waldo » comme identiques : le filtre ne doit pas répondre « libre »
+        when(userRepository.getAccountByUsername("WÄLDO")).thenReturn(new UserRepositoryDto().username("Waldo"));
+
+        assertFalse(availabilityBusiness.check("WÄLDO", null, "10.0.0.1").isUsernameAvailable());
+        assertEquals(AvailabilityBusiness.normalize("José"), AvailabilityBusiness.normalize("jose"));
+        assertEquals(AvailabilityBusiness.normalize("Strauß"), AvailabilityBusiness.normalize("STRAUSS"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.ubo.authapi.business;
+
+import com.example.ubo.authapi.dto.UserRepositoryDto;
+import com.example.ubo.authapi.repository.UserRepository;
+import com.example.ubo.authapi.security.PasswordHasher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.authapi.UserImportReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class UserImportBusinessTest {
+
+    private static final String HASH = "$2a$10$" + "a".repeat(53);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private AvailabilityBusiness availabilityBusiness;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private UserImportBusiness userImportBusiness;
+
+    // Noms d'utilisateur "en base"
+    private final Set<String> database = new HashSet<>();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(userImportBusiness, "chunkSize", 2);
+        ReflectionTestUtils.setField(userImportBusiness, "hashingThreads", 2);
+        ReflectionTestUtils.setField(userImportBusiness, "maxReportedRejections", 10);
+        userImportBusiness.init();
+        lenient().when(passwordHasher.encodeInline(anyString())).thenReturn(HASH);
+        lenient().when(userRepository.getExistingAccounts(anyCollection(), anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<String>>getArgument(0).stream()
+                        .filter(database::contains)
+                        .map(username -> new UserRepositoryDto().username(username).email(username + "@example.com"))
+                        .toList());
+        lenient().when(userRepository.addUsersIgnoringDuplicates(anyList())).thenAnswer(invocation -> {
+            // INSERT IGNORE : 0 pour une ligne déjà présente
+            List<UserRepositoryDto> accounts = invocation.getArgument(0);
+            return accounts.stream()
+                    .mapToInt(account -> database.add(account.getUsername().toLowerCase()) ? 1 : 0)
+                    .toArray();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userImportBusiness.shutdown();
+    }
+
+    @Test
+    public void testNdjsonImportReportsConflictsAndInvalidRows() throws Exception {
+        database.add("taken");
+        String body = """
+                {"username":"alice","email":"alice@example.com","password":"secret"}
+                {"username":"taken","email":"other@example.com","password":"secret"}
+                not json
+                {"username":"bob","email":"bob@example.com","passwordHash":"%s"}
+                {"username":"ALICE","email":"alice2@example.com","password":"secret"}
+                {"username":"carol","email":"carol@example.com"}
+                """.formatted(HASH);
+
+        UserImportReport report = userImportBusiness.importUsers(stream(body), false);
+
+        assertEquals(6, report.getTotal());
+        assertEquals(2, report.getImported());
+        assertEquals(4, report.getRejectedCount());
+        assertEquals(List.of(2, 3, 5, 6), report.getRejected().stream().map(r -> r.getLine()).toList());
+        assertEquals(List.of("CONFLICT", "INVALID", "CONFLICT", "INVALID"), report.getRejected().stream().map(r -> r.getCode()).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCsvImportUsesPreHashedPasswords() throws Exception {
+        String body = "username,email,passwordHash,firstName,lastName\n"
+                + "dave,dave@example.com," + HASH + ",Dave,\"Le Gall, Jr\"\n";
+
+        UserImportReport report = userImportBusiness.importUsers(stream(body), true);
+
+        assertEquals(1, report.getImported());
+        ArgumentCaptor<List<UserRepositoryDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).addUsersIgnoringDuplicates(captor.capture());
+        UserRepositoryDto account = captor.getValue().get(0);
+        assertEquals(HASH, account.getPassword());
+        assertEquals("Le Gall, Jr", account.getLastName());
+    }
+
+    @Test
+    public void testReplayedPreHashedImportCreatesNothing() throws Exception {
+        String body = """
+                {"username":"erin","email":"erin@example.com","passwordHash":"%s"}
+                {"username":"frank","email":"frank@example.com","passwordHash":"%s"}
+                """.formatted(HASH, HASH);
+        assertEquals(2, userImportBusiness.importUsers(stream(body), false).getImported());
+
+        // Import concurrent du même fichier : la vérification préalable n'a encore rien vu
+        lenient().when(userRepository.getExistingAccounts(anyCollection(), anyCollection())).thenReturn(List.of());
+        UserImportReport replay = userImportBusiness.importUsers(stream(body), false);
+
+        assertEquals(0, replay.getImported());
+        assertEquals(List.of("CONFLICT", "CONFLICT"), replay.getRejected().stream().map(r -> r.getCode()).toList());
+    }
+
+    @Test
+    public void testParseCsvLineHandlesQuotes() {
+        assertArrayEquals(new String[]{"a", "b, c", "say \"hi\"", ""},
+                UserImportBusiness.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ubo.authapi.filters;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressionInterceptorTest {
+    private static final byte[] LISTING = "{\"name\":\"Article\",\"description\":\"Une longue description\"},"
+            .repeat(500).getBytes(StandardCharsets.UTF_8);
+
+    private final BlockingQueue<Deflater> pool = new ArrayBlockingQueue<>(4);
+    private final ByteArrayOutputStream target = new ByteArrayOutputStream();
+    private boolean compressing;
+
+    private CompressionInterceptor.CompressingOutputStream stream(boolean gzip) {
+        return new CompressionInterceptor.CompressingOutputStream(target, 1024, gzip, pool, 6, () -> compressing = true);
+    }
+
+    @Test
+    public void testGzipIsPreferredOverDeflate() {
+        assertEquals("gzip", CompressionInterceptor.negotiate("deflate, gzip, br"));
+        assertEquals("deflate", CompressionInterceptor.negotiate("deflate, gzip;q=0"));
+        assertNull(CompressionInterceptor.negotiate("br"));
+        assertNull(CompressionInterceptor.negotiate(null));
+    }
+
+    @Test
+    public void testSmallBodyIsSentAsIs() throws IOException {
+        var output = stream(true);
+        output.write(LISTING, 0, 500);
+        output.close();
+
+        assertFalse(compressing);
+        assertEquals(500, target.size());
+        assertTrue(pool.isEmpty());
+    }
+
+    @Test
+    public void testLargeBodyIsGzipped() throws IOException {
+        var output = stream(true);
+        output.write(LISTING);
+        output.close();
+
+        assertTrue(compressing);
+        assertTrue(target.size() * 5 < LISTING.length);
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(target.toByteArray()))) {
+            assertArrayEquals(LISTING, input.readAllBytes());
+        }
+        // Le deflater est rendu au pool pour la réponse suivante
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void testFlushSendsCompressedChunksOfAStreamedBody() throws IOException {
+        var output = stream(false);
+        output.write(LISTING, 0, 100);
+        output.flush();
+        assertEquals(0, target.size());
+
+        output.write(LISTING, 100, LISTING.length - 100);
+        output.flush();
+        int flushed = target.size();
+        assertTrue(flushed > 0);
+        output.close();
+
+        try (InputStream input = new InflaterInputStream(new ByteArrayInputStream(target.toByteArray()))) {
+            assertArrayEquals(LISTING, input.readAllBytes());
+        }
+    }
+}
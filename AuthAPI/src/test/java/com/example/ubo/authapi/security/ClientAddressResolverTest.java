@@ -0,0 +1,33 @@
+package com.example.ubo.authapi.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(List.of("127.0.0.0/8", "::1/128", "172.16.0.0/12"));
+
+    @Test
+    public void testDirectClientIsItsOwnAddress() {
+        assertEquals("203.0.113.7", resolver.resolve("203.0.113.7", null));
+        // En-tête envoyé par un client qui n'est pas un proxy : ignoré
+        assertEquals("203.0.113.7", resolver.resolve("203.0.113.7", "198.51.100.1"));
+    }
+
+    @Test
+    public void testAddressSeenByTheProxyIsUsed() {
+        assertEquals("198.51.100.1", resolver.resolve("172.18.0.5", "198.51.100.1"));
+        // Entrées ajoutées par le client à gauche : sans effet sur l'adresse retenue
+        assertEquals("198.51.100.1", resolver.resolve("172.18.0.5", "10.0.0.1, 1.2.3.4, 198.51.100.1"));
+        assertEquals("198.51.100.1", resolver.resolve("172.18.0.5", "198.51.100.1, 172.20.0.2"));
+    }
+
+    @Test
+    public void testHostNamesAreNeverTrusted() {
+        assertEquals("localhost", resolver.resolve("172.18.0.5", "localhost"));
+        assertEquals("2001:db8::1", resolver.resolve("::1", "2001:db8::1"));
+    }
+}
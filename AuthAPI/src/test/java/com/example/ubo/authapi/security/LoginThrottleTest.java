@@ -0,0 +1,39 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.exceptions.RetryLaterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LoginThrottleTest {
+
+    // 3 tentatives par compte, 100 par adresse, 50 clés suivies au plus
+    private final LoginThrottle loginThrottle = new LoginThrottle(new SimpleMeterRegistry(), 3, 100, Duration.ofMinutes(1), 50);
+
+    @Test
+    public void testLimitsAttemptsPerUsername() {
+        for (int i = 0; i < 3; i++)
+            loginThrottle.acquire("Alice", "10.0.0." + i);
+
+        RetryLaterException e = assertThrows(RetryLaterException.class, () -> loginThrottle.acquire("alice", "10.0.0.9"));
+        assertEquals(429, e.getStatus());
+        assertEquals(LoginThrottle.CODE_THROTTLED, e.getCode());
+    }
+
+    @Test
+    public void testFreshUsernameCanLogInWhenTableIsFull() {
+        // Pulvérisation de noms d'utilisateur depuis des adresses toutes différentes
+        for (int i = 0; i < 5_000; i++) {
+            String address = "10." + (i / 65536) + "." + (i / 256 % 256) + "." + (i % 256);
+            for (int attempt = 0; attempt < 3; attempt++)
+                loginThrottle.acquire("spray-" + i, address);
+        }
+
+        assertDoesNotThrow(() -> loginThrottle.acquire("bob", "192.168.1.10"));
+    }
+}
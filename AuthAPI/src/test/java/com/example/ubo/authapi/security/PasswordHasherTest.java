@@ -0,0 +1,71 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.exceptions.RetryLaterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    public void setUp() {
+        // 1 thread, 1 place en file : facile à saturer
+        passwordHasher = new PasswordHasher(new SimpleMeterRegistry(), 4, 1, 1, 5000, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    public void testEncodeThenMatches() {
+        String hash = passwordHasher.encode("secret");
+        assertTrue(passwordHasher.matches("secret", hash));
+        assertFalse(passwordHasher.matches("other", hash));
+    }
+
+    @Test
+    public void testNeedsRehashWhenCostDiffers() {
+        assertFalse(passwordHasher.needsRehash(passwordHasher.encode("secret")));
+        assertTrue(passwordHasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+    }
+
+    @Test
+    public void testSaturatedPoolAnswers503() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Occupe l'unique thread puis l'unique place de la file
+        passwordHasher.rehashLater("a", hash -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        passwordHasher.rehashLater("b", hash -> {});
+
+        RetryLaterException e = assertThrows(RetryLaterException.class, () -> passwordHasher.encode("secret"));
+        assertEquals(503, e.getStatus());
+        assertEquals(PasswordHasher.CODE_OVERLOADED, e.getCode());
+        release.countDown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
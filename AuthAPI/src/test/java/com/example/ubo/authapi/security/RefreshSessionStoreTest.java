@@ -0,0 +1,52 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.dto.RefreshSessionDto;
+import com.example.ubo.authapi.repository.RefreshSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshSessionStoreTest {
+
+    @Mock
+    private RefreshSessionRepository refreshSessionRepository;
+
+    private RefreshSessionStore refreshSessions;
+
+    @BeforeEach
+    public void setUp() {
+        refreshSessions = new RefreshSessionStore(refreshSessionRepository, Duration.ofDays(30));
+    }
+
+    @Test
+    public void testRotateMovesToNextGeneration() {
+        when(refreshSessionRepository.advanceSession(eq("sid"), eq(3), anyLong())).thenReturn(true);
+
+        RefreshSessionDto next = refreshSessions.rotate("sid", "42", 3, 1000L);
+
+        assertEquals(4, next.getGeneration());
+        assertEquals("42", next.getAccountId());
+        verify(refreshSessionRepository, never()).deleteSession("sid");
+    }
+
+    @Test
+    public void testReplayedTokenClosesSession() {
+        when(refreshSessionRepository.advanceSession(eq("sid"), eq(2), anyLong())).thenReturn(false);
+
+        assertNull(refreshSessions.rotate("sid", "42", 2, 1000L));
+        verify(refreshSessionRepository).deleteSession("sid");
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.ubo.authapi.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServiceAuthenticationTest {
+
+    @Test
+    public void testAcceptsOnlyTheConfiguredToken() {
+        ServiceAuthentication authentication = new ServiceAuthentication("s3cret");
+
+        assertTrue(authentication.accepts("s3cret"));
+        assertFalse(authentication.accepts("s3cre"));
+        assertFalse(authentication.accepts(null));
+    }
+
+    @Test
+    public void testRefusesEverythingWhenNotConfigured() {
+        ServiceAuthentication authentication = new ServiceAuthentication("");
+
+        assertFalse(authentication.accepts(""));
+        assertFalse(authentication.accepts(null));
+    }
+}
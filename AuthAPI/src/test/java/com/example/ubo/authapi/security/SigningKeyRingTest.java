@@ -0,0 +1,217 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.configuration.Jwt;
+import com.example.ubo.authapi.dto.SigningKeyDto;
+import com.example.ubo.authapi.dto.UserRepositoryDto;
+import com.example.ubo.authapi.repository.SigningKeyRepository;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class SigningKeyRingTest {
+
+    private static final Duration ROTATION = Duration.ofDays(7);
+    private static final Duration PUBLISH_AHEAD = Duration.ofMinutes(10);
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000_000L);
+    private InMemorySigningKeyRepository repository;
+
+    /**
+     * SIGNING_KEY table in memory, with the same "insert unless a newer key exists" rule.
+     */
+    private static class InMemorySigningKeyRepository extends SigningKeyRepository {
+        private final List<SigningKeyDto> rows = new ArrayList<>();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        InMemorySigningKeyRepository() {
+            super(null);
+        }
+
+        @Override
+        public synchronized boolean addKeyIfNoneAfter(SigningKeyDto key, long notAfter) {
+            if (rows.stream().anyMatch(row -> row.getActivatesAt() > notAfter))
+                return false;
+            return rows.add(key);
+        }
+
+        @Override
+        public synchronized List<SigningKeyDto> getAllKeys() {
+            reads.incrementAndGet();
+            return rows.stream()
+                    .sorted(Comparator.comparingLong(SigningKeyDto::getActivatesAt).reversed())
+                    .toList();
+        }
+
+        @Override
+        public synchronized void deleteKey(String kid) {
+            rows.removeIf(row -> row.getKeyId().equals(kid));
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        repository = new InMemorySigningKeyRepository();
+    }
+
+    private SigningKeyRing databaseRing() {
+        SigningKeyRing ring = new SigningKeyRing(repository, "db", "", "", "", ROTATION, PUBLISH_AHEAD, RETENTION, now::get);
+        ring.init();
+        return ring;
+    }
+
+    @Test
+    public void testFirstKeySignsImmediately() {
+        SigningKeyRing ring = databaseRing();
+
+        assertEquals(1, repository.rows.size());
+        assertEquals(repository.rows.get(0).getKeyId(), ring.getActiveKey().keyId());
+        assertEquals(List.of(ring.getActiveKey().keyId()), List.copyOf(ring.getPublishedKeys().keySet()));
+    }
+
+    @Test
+    public void testNextKeyIsPublishedBeforeItSigns() {
+        SigningKeyRing ring = databaseRing();
+        String first = ring.getActiveKey().keyId();
+
+        now.addAndGet(ROTATION.minus(PUBLISH_AHEAD).toMillis());
+        ring.refresh();
+        // Publiée dans le JWKS, mais ne signe pas encore
+        assertEquals(2, ring.getPublishedKeys().size());
+        assertEquals(first, ring.getActiveKey().keyId());
+
+        now.addAndGet(PUBLISH_AHEAD.toMillis());
+        ring.refresh();
+        assertNotEquals(first, ring.getActiveKey().keyId());
+        assertEquals(2, repository.rows.size());
+    }
+
+    @Test
+    public void testRetiredKeyIsDeletedAfterRetention() {
+        SigningKeyRing ring = databaseRing();
+        String first = ring.getActiveKey().keyId();
+        now.addAndGet(ROTATION.minus(PUBLISH_AHEAD).toMillis());
+        ring.refresh();
+
+        // Retirée depuis moins que la rétention : toujours acceptée
+        now.addAndGet(PUBLISH_AHEAD.plus(RETENTION).minusMinutes(1).toMillis());
+        ring.refresh();
+        assertNotNull(ring.getVerificationKey(first));
+
+        now.addAndGet(Duration.ofMinutes(1).toMillis());
+        ring.refresh();
+        assertEquals(1, repository.rows.size());
+        assertNull(ring.getPublishedKeys().get(first));
+    }
+
+    @Test
+    public void testTwoReplicasRotateOnce() {
+        SigningKeyRing ring = databaseRing();
+        SigningKeyRing other = databaseRing();
+        assertEquals(ring.getActiveKey().keyId(), other.getActiveKey().keyId());
+
+        now.addAndGet(ROTATION.toMillis());
+        ring.refresh();
+        other.refresh();
+
+        assertEquals(2, repository.rows.size());
+        assertEquals(ring.getActiveKey().keyId(), other.getActiveKey().keyId());
+    }
+
+    @Test
+    public void testUnknownKeyIdIsReadFromTheDatabaseAtMostEveryFewSeconds() {
+        SigningKeyRing ring = databaseRing();
+        SigningKeyRing other = databaseRing();
+        now.addAndGet(ROTATION.minus(PUBLISH_AHEAD).toMillis());
+        other.refresh();
+        String next = other.getPublishedKeys().keySet().iterator().next();
+        int reads = repository.reads.get();
+
+        // Kid inventé, hors format : aucune lecture
+        assertNull(ring.getVerificationKey("../../etc/passwd"));
+        assertEquals(reads, repository.reads.get());
+
+        // Clé créée par l'autre instance : relue une fois
+        assertNotNull(ring.getVerificationKey(next));
+        assertEquals(reads + 1, repository.reads.get());
+
+        // Kid bien formé mais inconnu, juste après : pas de nouvelle lecture avant l'intervalle
+        assertNull(ring.getVerificationKey(UUID.randomUUID().toString()));
+        assertEquals(reads + 1, repository.reads.get());
+        // Relecture seule : aucune rotation déclenchée par un kid inconnu
+        assertEquals(2, repository.rows.size());
+    }
+
+    @Test
+    public void testTokensSignedBeforeARotationStayValid() {
+        SigningKeyRing ring = databaseRing();
+        Jwt jwt = new Jwt();
+        ReflectionTestUtils.setField(jwt, "keyRing", ring);
+        ReflectionTestUtils.setField(jwt, "revocationStore", mock(TokenRevocationStore.class));
+        ReflectionTestUtils.setField(jwt, "audiences", List.of(Jwt.ISSUER));
+        ReflectionTestUtils.setField(jwt, "accessTokenTtl", Duration.ofMinutes(5));
+        UserRepositoryDto user = new UserRepositoryDto().username("alice");
+        user.setId("1");
+        user.setAdmin(false);
+
+        String before = jwt.generateAccessToken(user, "session");
+        now.addAndGet(ROTATION.toMillis());
+        ring.refresh();
+        now.addAndGet(PUBLISH_AHEAD.toMillis());
+        ring.refresh();
+        String after = jwt.generateAccessToken(user, "session");
+
+        Claims claims = jwt.getValidClaims(before);
+        assertNotNull(claims);
+        assertEquals("alice", claims.getSubject());
+        assertNotNull(jwt.getValidClaims(after));
+        assertNotEquals(before.substring(0, before.indexOf('.')), after.substring(0, after.indexOf('.')));
+    }
+
+    @Test
+    public void testKeystoreSourceUsesTheConfiguredAlias(@TempDir Path directory) throws Exception {
+        Path keystore = directory.resolve("keys.p12");
+        generateKeyPair(keystore, "2024-01");
+        generateKeyPair(keystore, "2024-02");
+
+        SigningKeyRing ring = new SigningKeyRing(repository, "file", keystore.toString(), "changeit", "2024-02",
+                ROTATION, PUBLISH_AHEAD, RETENTION, now::get);
+        ring.init();
+
+        assertEquals("2024-02", ring.getActiveKey().keyId());
+        assertEquals(2, ring.getPublishedKeys().size());
+        assertEquals(0, repository.reads.get());
+
+        SigningKeyRing missing = new SigningKeyRing(repository, "file", keystore.toString(), "changeit", "2023-12",
+                ROTATION, PUBLISH_AHEAD, RETENTION, now::get);
+        assertThrows(IllegalStateException.class, missing::init);
+    }
+
+    private static void generateKeyPair(Path keystore, String alias) throws Exception {
+        Path keytool = Path.of(System.getProperty("java.home"), "bin", "keytool");
+        Process process = new ProcessBuilder(keytool.toString(), "-genkeypair", "-keyalg", "RSA", "-keysize", "2048",
+                "-alias", alias, "-dname", "CN=auth-api", "-validity", "1",
+                "-storetype", "PKCS12", "-keystore", keystore.toString(), "-storepass", "changeit")
+                .inheritIO()
+                .start();
+        assertEquals(0, process.waitFor());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.exceptions.RetryLaterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TokenBatchVerifierTest {
+
+    private TokenBatchVerifier verifier;
+
+    @AfterEach
+    public void tearDown() {
+        verifier.shutdown();
+    }
+
+    @Test
+    public void testKeepsTheOrderOfTheBatch() {
+        verifier = new TokenBatchVerifier(new SimpleMeterRegistry(), 4, 8, 5000, 2);
+        List<String> tokens = IntStream.range(0, 101).mapToObj(i -> "token-" + i).toList();
+
+        List<String> checked = verifier.verifyAll(tokens, token -> token.toUpperCase());
+
+        assertEquals(tokens.stream().map(String::toUpperCase).toList(), checked);
+    }
+
+    @Test
+    public void testAnswers503WhenThePoolIsSaturated() {
+        // 1 thread, 1 place en file, timeout court
+        verifier = new TokenBatchVerifier(new SimpleMeterRegistry(), 1, 1, 200, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            RetryLaterException e = assertThrows(RetryLaterException.class,
+                    () -> verifier.verifyAll(List.of("a", "b"), token -> {
+                        try {
+                            release.await();
+                        } catch (InterruptedException ignored) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return token;
+                    }));
+            assertEquals(503, e.getStatus());
+            assertEquals(PasswordHasher.CODE_OVERLOADED, e.getCode());
+        } finally {
+            release.countDown();
+        }
+    }
+}
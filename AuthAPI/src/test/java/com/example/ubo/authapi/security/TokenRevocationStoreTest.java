@@ -0,0 +1,65 @@
+package com.example.ubo.authapi.security;
+
+import com.example.ubo.authapi.dto.RevokedTokenDto;
+import com.example.ubo.authapi.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationStoreTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationStore revocationStore;
+
+    @BeforeEach
+    public void setUp() {
+        revocationStore = new TokenRevocationStore(revokedTokenRepository, new SimpleMeterRegistry(), 1000, 0.01);
+    }
+
+    @Test
+    public void testRevokedTokenIsFound() {
+        long expiresAt = System.currentTimeMillis() + 3_600_000;
+        revocationStore.revoke("jti-1", expiresAt);
+
+        assertTrue(revocationStore.isRevoked("jti-1", expiresAt));
+        assertFalse(revocationStore.isRevoked("jti-2", expiresAt));
+        verify(revokedTokenRepository).addRevokedToken(any());
+    }
+
+    @Test
+    public void testExpiredTokenIsNotStored() {
+        long expiresAt = System.currentTimeMillis() - 1_000;
+        revocationStore.revoke("jti-1", expiresAt);
+
+        assertEquals(0, revocationStore.size());
+        verify(revokedTokenRepository, never()).addRevokedToken(any());
+    }
+
+    @Test
+    public void testSyncLoadsOtherReplicasRevocations() {
+        long expiresAt = System.currentTimeMillis() + 3_600_000;
+        when(revokedTokenRepository.getRevokedTokensSince(anyLong(), anyLong()))
+                .thenReturn(List.of(new RevokedTokenDto("jti-remote", expiresAt, System.currentTimeMillis())));
+
+        revocationStore.sync();
+
+        assertTrue(revocationStore.isRevoked("jti-remote", expiresAt));
+    }
+}
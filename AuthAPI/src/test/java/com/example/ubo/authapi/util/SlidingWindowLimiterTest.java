@@ -0,0 +1,56 @@
+package com.example.ubo.authapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SlidingWindowLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @Test
+    public void testRejectsOverLimitUntilWindowSlides() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(3, 60_000, 100, now::get);
+        for (int i = 0; i < 3; i++)
+            assertEquals(0, limiter.tryAcquire("alice"));
+        long wait = limiter.tryAcquire("alice");
+        assertTrue(wait > 0 && wait <= 60_000);
+
+        // Une autre clé n'est pas concernée
+        assertEquals(0, limiter.tryAcquire("bob"));
+
+        // Moitié de la fenêtre suivante : 3 * 0.5 = 1.5 tentatives encore comptées
+        now.addAndGet(90_000);
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    public void testEvictsIdleKeys() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(3, 60_000, 100, now::get);
+        limiter.tryAcquire("alice");
+        now.addAndGet(60_000);
+        limiter.tryAcquire("bob");
+        now.addAndGet(60_000);
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    public void testFreshKeyKeepsItsOwnLimitWhenFull() {
+        SlidingWindowLimiter limiter = new SlidingWindowLimiter(2, 60_000, 10, now::get);
+        // Pulvérisation de clés toutes différentes, chacune poussée à sa limite
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("spray-" + i);
+            limiter.tryAcquire("spray-" + i);
+        }
+        assertTrue(limiter.size() <= 10);
+
+        // Une clé jamais vue n'hérite pas du compteur des autres
+        assertEquals(0, limiter.tryAcquire("alice"));
+    }
+}
@@ -29,7 +29,7 @@ description = "Ecomm API"
 
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(17)
+        languageVersion = JavaLanguageVersion.of(21)
     }
 }
 
@@ -49,6 +49,7 @@ dependencies {
     implementation("org.springframework.cloud:spring-cloud-starter-openfeign")
     implementation("io.github.openfeign:feign-jackson")
     implementation("io.github.openfeign:feign-okhttp")
+    implementation("io.github.openfeign:feign-micrometer")
     implementation("com.squareup.okhttp3:okhttp:4.12.0")
     testImplementation("io.github.openfeign:feign-mock")
     
@@ -64,6 +65,14 @@ dependencies {
     implementation("com.fasterxml.jackson.core:jackson-annotations:2.20")
     implementation("com.fasterxml.jackson.core:jackson-databind:2.20.0")
     implementation("com.fasterxml.jackson.core:jackson-core")
+
+    //JWT (JOUT) - vérification locale des tokens émis par AuthAPI
+    implementation("io.jsonwebtoken:jjwt-api:0.13.0")
+    runtimeOnly("io.jsonwebtoken:jjwt-impl:0.13.0")
+    runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.13.0")
+
+    // Cache
+    implementation("com.github.ben-manes.caffeine:caffeine")
     
     // Testing
     testImplementation("org.springframework.boot:spring-boot-starter-test")
@@ -73,6 +82,7 @@ dependencies {
 
     // Actuator
 	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
 }
 
 tasks.withType<Test> {
@@ -1,13 +1,23 @@
 package com.example.ubo.ecommapi.business;
 
 import com.example.ubo.ecommapi.entity.ArticleEntity;
+import com.example.ubo.ecommapi.entity.ArticleFilter;
+import com.example.ubo.ecommapi.entity.ArticleSort;
 import com.example.ubo.ecommapi.exceptions.FunctionalException;
 import com.example.ubo.ecommapi.mapper.ArticleMapper;
 import com.example.ubo.ecommapi.repository.ArticleRepository;
+import dto.ecommapi.Article;
+import com.example.ubo.ecommapi.util.Page;
+import com.example.ubo.ecommapi.util.PageCursor;
 import jakarta.inject.Inject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static com.example.ubo.ecommapi.mapper.ArticleMapper.toDto;
 import static com.example.ubo.ecommapi.mapper.ArticleMapper.toEntity;
@@ -18,34 +28,108 @@ public class ArticleBusiness {
     @Inject
     private ArticleRepository articleRepository;
 
+    @Inject
+    private CatalogCache catalogCache;
+
+    @Inject
+    private ArticleSearchIndex searchIndex;
+
+    @Value("${catalog.page.default-limit:20}")
+    private int defaultPageSize;
+
+    @Value("${catalog.page.max-limit:100}")
+    private int maxPageSize;
+
     public ArticleEntity createArticle(ArticleEntity article) {
-        return toEntity(articleRepository.addArticle(toDto(article)));
+        Article created = articleRepository.addArticle(toDto(article));
+        catalogCache.putArticle(created);
+        searchIndex.index(created);
+        return toEntity(created);
     }
 
     public ArticleEntity getArticleById(String id) {
-        return toEntity(articleRepository.getArticleById(id));
+        Article article = catalogCache.getArticle(id);
+        if (article == null) {
+            throw new FunctionalException(1, "Article not found");
+        }
+        return toEntity(article);
     }
 
     public boolean deleteArticle(String id) {
-        return articleRepository.deleteArticle(id);
+        boolean deleted = articleRepository.deleteArticle(id);
+        if (deleted) {
+            catalogCache.removeArticle(id);
+            searchIndex.remove(id);
+        }
+        return deleted;
     }
 
     public ArticleEntity updateArticle(ArticleEntity article) {
         if(article.getId() == null || articleRepository.getArticleById(article.getId()) == null) {
             throw new FunctionalException(404, "Article not found");
         }
-        return toEntity(articleRepository.updateArticle(toDto(article)));
+        Article updated = articleRepository.updateArticle(toDto(article));
+        catalogCache.putArticle(updated);
+        searchIndex.index(updated);
+        return toEntity(updated);
+    }
+
+    public CatalogCache.Version getArticlesVersion() {
+        return catalogCache.getArticlesVersion();
+    }
+
+    // Lectures publiques servies par le cache : aucune requête en base en régime établi.
+    // Conversion au fil de l'écriture de la réponse, sans copie intermédiaire de la liste
+    public Stream<ArticleEntity> getArticles(String categoryId) {
+        List<Article> articles = categoryId != null
+                ? catalogCache.getArticlesByCategory(categoryId)
+                : catalogCache.getArticles();
+        return articles.stream().map(ArticleMapper::toEntity);
     }
 
-    public List<ArticleEntity> getAllArticles() {
-        return articleRepository.getAllArticles().stream()
+    /**
+     * Articles demandés, dans l'ordre de la demande : une seule lecture du cache au lieu d'un appel par id.
+     * Les ids inconnus sont ignorés, les doublons renvoyés une fois.
+     */
+    public List<ArticleEntity> getArticlesByIds(List<String> ids) {
+        if (ids.size() > maxPageSize) {
+            throw new FunctionalException(400, "ids must not list more than " + maxPageSize + " articles");
+        }
+        Map<String, Article> articles = catalogCache.getArticlesById();
+        return ids.stream()
+                .distinct()
+                .map(articles::get)
+                .filter(Objects::nonNull)
                 .map(ArticleMapper::toEntity)
                 .toList();
     }
 
-    public List<ArticleEntity> getArticlesByCategory(String categoryId) {
-        return articleRepository.getArticlesByCategory(categoryId).stream()
+    /**
+     * Tous les articles lus directement en base, ligne par ligne, sans passer par le cache.
+     */
+    public void exportArticles(Consumer<ArticleEntity> action) {
+        articleRepository.streamAllArticles(article -> action.accept(toEntity(article)));
+    }
+
+    /**
+     * Page d'articles filtrée et triée, lue en base après le curseur : coût constant quelle que soit la profondeur.
+     */
+    public Page<ArticleEntity> getArticlesPage(ArticleFilter filter, String sortParam, String cursor, Integer limit) {
+        int pageSize = Page.pageSize(limit, defaultPageSize, maxPageSize);
+        ArticleSort sort = ArticleSort.fromParam(sortParam);
+        PageCursor after = PageCursor.decode(cursor, sort.getParam());
+        List<Article> rows = articleRepository.getArticlesPage(filter, sort, after, pageSize + 1);
+        return Page.of(rows, pageSize,
+                article -> new PageCursor(sort.getParam(), sort.keyOf(article), Long.parseLong(article.getId())),
+                ArticleMapper::toEntity);
+    }
+
+    public List<ArticleEntity> searchArticles(String query, ArticleFilter filter, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new FunctionalException(400, "q is required");
+        }
+        return searchIndex.search(query, filter, Page.pageSize(limit, defaultPageSize, maxPageSize)).stream()
                 .map(ArticleMapper::toEntity)
                 .toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,184 @@
+package com.example.ubo.ecommapi.business;
+
+import com.example.ubo.ecommapi.entity.ArticleFilter;
+import dto.ecommapi.Article;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Inverted index over article names and descriptions. Terms are lower-cased and accent-folded,
+ * so "telephone" finds "Téléphone". Every query term must match, the last one also as a prefix,
+ * and results are ranked by TF-IDF with name matches weighted above description matches.
+ * The index only holds ids: prices, stock and categories are read from the catalog snapshot.
+ */
+@Component
+public class ArticleSearchIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Mots trop fréquents en français pour départager deux articles
+    private static final Set<String> STOP_WORDS = Set.of(
+            "au", "aux", "avec", "ce", "ces", "dans", "de", "des", "du", "en", "et", "la", "le", "les",
+            "ou", "par", "pour", "sans", "sur", "un", "une");
+
+    private final CatalogCache catalogCache;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // terme -> (id d'article -> poids du terme dans l'article)
+    private NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+    private Map<String, Set<String>> termsByArticle = new HashMap<>();
+
+    public ArticleSearchIndex(CatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
+        // Un rechargement du catalogue ramène aussi les écritures des autres instances
+        catalogCache.onReload(this::rebuild);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAtStartup() {
+        rebuild(catalogCache.getArticles());
+    }
+
+    public void rebuild(Collection<Article> articles) {
+        NavigableMap<String, Map<String, Integer>> freshPostings = new TreeMap<>();
+        Map<String, Set<String>> freshTerms = new HashMap<>();
+        for (Article article : articles)
+            add(freshPostings, freshTerms, article);
+        lock.writeLock().lock();
+        try {
+            postings = freshPostings;
+            termsByArticle = freshTerms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Article article) {
+        lock.writeLock().lock();
+        try {
+            remove(postings, termsByArticle, article.getId());
+            add(postings, termsByArticle, article);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String articleId) {
+        lock.writeLock().lock();
+        try {
+            remove(postings, termsByArticle, articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Article> search(String query, ArticleFilter filter, int limit) {
+        List<String> queryTerms = terms(query).distinct().toList();
+        if (queryTerms.isEmpty())
+            return List.of();
+        // Saisie en cours : le dernier mot est complété, sauf s'il est suivi d'un espace
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+        Map<String, Double> scores = scores(queryTerms, lastIsPrefix);
+
+        Map<String, Article> articles = catalogCache.getArticlesById();
+        List<Map.Entry<Article, Double>> matches = new ArrayList<>();
+        scores.forEach((id, score) -> {
+            Article article = articles.get(id);
+            if (article != null && filter.accept(article))
+                matches.add(Map.entry(article, score));
+        });
+        return matches.stream()
+                .sorted(Map.Entry.<Article, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(entry -> Long.parseLong(entry.getKey().getId())))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsByArticle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Double> scores(List<String> queryTerms, boolean lastIsPrefix) {
+        lock.readLock().lock();
+        try {
+            double documentCount = Math.max(termsByArticle.size(), 1);
+            Map<String, Double> scores = null;
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String term = queryTerms.get(i);
+                Collection<Map<String, Integer>> matching = lastIsPrefix && i == queryTerms.size() - 1
+                        ? postings.subMap(term, true, term + Character.MAX_VALUE, false).values()
+                        : postings.containsKey(term) ? List.of(postings.get(term)) : List.of();
+                Map<String, Double> termScores = new HashMap<>();
+                for (Map<String, Integer> posting : matching) {
+                    double idf = Math.log(1 + documentCount / posting.size());
+                    posting.forEach((id, weight) -> termScores.merge(id, weight * idf, Double::sum));
+                }
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty())
+                    break;
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void add(Map<String, Map<String, Integer>> postings, Map<String, Set<String>> termsByArticle, Article article) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        terms(article.getName()).forEach(term -> weights.merge(term, NAME_WEIGHT, Integer::sum));
+        terms(article.getDescription()).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(article.getId(), weight));
+        termsByArticle.put(article.getId(), weights.keySet());
+    }
+
+    private static void remove(Map<String, Map<String, Integer>> postings, Map<String, Set<String>> termsByArticle, String articleId) {
+        Set<String> terms = termsByArticle.remove(articleId);
+        if (terms == null)
+            return;
+        for (String term : terms) {
+            Map<String, Integer> posting = postings.get(term);
+            posting.remove(articleId);
+            if (posting.isEmpty())
+                postings.remove(term);
+        }
+    }
+
+    static Stream<String> terms(String text) {
+        if (text == null || text.isBlank())
+            return Stream.empty();
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.splitAsStream(folded.toLowerCase(Locale.ROOT))
+                .filter(term -> term.length() > 1 && !STOP_WORDS.contains(term));
+    }
+}
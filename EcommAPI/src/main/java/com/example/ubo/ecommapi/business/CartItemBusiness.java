@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.example.ubo.ecommapi.mapper.CartItemMapper.toDto;
 import static com.example.ubo.ecommapi.mapper.CartItemMapper.toEntity;
@@ -53,10 +54,8 @@ public class CartItemBusiness {
                 .toList();
     }
 
-    public List<CartItemEntity> getAllCartItems() {
-        return cartItemRepository.getAllCartItems().stream()
-                .map(CartItemMapper::toEntity)
-                .toList();
+    public void exportCartItems(Consumer<CartItemEntity> action) {
+        cartItemRepository.streamAllCartItems(cartItem -> action.accept(toEntity(cartItem)));
     }
 
     public boolean clearCartByUserId(String userId) {
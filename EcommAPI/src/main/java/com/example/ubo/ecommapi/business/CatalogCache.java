@@ -0,0 +1,313 @@
+package com.example.ubo.ecommapi.business;
+
+import com.example.ubo.ecommapi.mapper.ArticleMapper;
+import com.example.ubo.ecommapi.repository.ArticleRepository;
+import com.example.ubo.ecommapi.repository.CategoryRepository;
+import dto.ecommapi.Article;
+import dto.ecommapi.Category;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Read-through snapshot of the whole catalog: articles by id, articles by category and categories.
+ * The admin paths update it as they write. Past refresh-after the snapshot is still served
+ * while a single background reload catches up with changes made by other instances.
+ */
+@Component
+public class CatalogCache {
+    private static final Logger logger = Logger.getLogger(CatalogCache.class.getName());
+
+    private final ArticleRepository articleRepository;
+    private final CategoryRepository categoryRepository;
+    private final long refreshAfterMs;
+    private final LongSupplier clock;
+    private final ExecutorService refresher;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final List<Consumer<List<Article>>> reloadListeners = new CopyOnWriteArrayList<>();
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Timer loads;
+
+    private volatile Snapshot snapshot;
+
+    // Incrémenté à chaque écriture : un rechargement commencé avant une écriture ne doit pas l'écraser
+    private long version;
+
+    /**
+     * Validators of a catalog collection: a digest of its content, identical on every instance
+     * holding the same rows, and the time this instance saw the content change.
+     */
+    public record Version(String tag, long lastModified) {
+
+        static Version of(List<?> items, Version previous, long now) {
+            long digest = 1125899906842597L;
+            for (Object item : items)
+                digest = 31 * digest + item.hashCode();
+            String tag = Long.toHexString(digest) + "-" + items.size();
+            // Une suppression ne change aucun updated_at : la date de modification est celle du changement observé
+            long lastModified = previous != null && previous.tag().equals(tag) ? previous.lastModified() : now;
+            return new Version(tag, lastModified);
+        }
+    }
+
+    record Snapshot(List<Category> categories,
+                    Map<String, Category> categoriesById,
+                    List<Article> articles,
+                    Map<String, Article> articlesById,
+                    Map<String, List<Article>> articlesByCategory,
+                    Version categoriesVersion,
+                    Version articlesVersion,
+                    long loadedAt) {
+
+        static Snapshot of(List<Category> categories, List<Article> articles, long loadedAt, Snapshot previous, long now) {
+            Map<String, Category> categoriesById = new LinkedHashMap<>();
+            categories.forEach(category -> categoriesById.put(category.getId(), category));
+            Map<String, Article> articlesById = new LinkedHashMap<>();
+            Map<String, List<Article>> articlesByCategory = new LinkedHashMap<>();
+            for (Article article : articles) {
+                articlesById.put(article.getId(), article);
+                if (article.getCategoryId() != null)
+                    articlesByCategory.computeIfAbsent(article.getCategoryId(), k -> new ArrayList<>()).add(article);
+            }
+            articlesByCategory.replaceAll((k, list) -> List.copyOf(list));
+            return new Snapshot(List.copyOf(categories), Collections.unmodifiableMap(categoriesById),
+                    List.copyOf(articles), Collections.unmodifiableMap(articlesById),
+                    Collections.unmodifiableMap(articlesByCategory),
+                    Version.of(categories, previous != null ? previous.categoriesVersion() : null, now),
+                    Version.of(articles, previous != null ? previous.articlesVersion() : null, now),
+                    loadedAt);
+        }
+    }
+
+    public CatalogCache(ArticleRepository articleRepository,
+                        CategoryRepository categoryRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${catalog.cache.refresh-after:5m}") Duration refreshAfter) {
+        this(articleRepository, categoryRepository, meterRegistry, refreshAfter, System::currentTimeMillis);
+    }
+
+    CatalogCache(ArticleRepository articleRepository,
+                 CategoryRepository categoryRepository,
+                 MeterRegistry meterRegistry,
+                 Duration refreshAfter,
+                 LongSupplier clock) {
+        this.articleRepository = articleRepository;
+        this.categoryRepository = categoryRepository;
+        this.refreshAfterMs = refreshAfter.toMillis();
+        this.clock = clock;
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.hits = requests(meterRegistry, "hit");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+        this.loads = Timer.builder("catalog.cache.loads")
+                .description("Full catalog reloads from the database")
+                .register(meterRegistry);
+        Gauge.builder("catalog.cache.articles", this, cache -> cache.snapshot != null ? cache.snapshot.articles().size() : 0)
+                .description("Articles held by the catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder("catalog.cache.age", this, cache -> cache.snapshot != null ? (clock.getAsLong() - cache.snapshot.loadedAt()) / 1000.0 : 0)
+                .description("Seconds since the catalog snapshot was last loaded from the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("catalog.cache.requests")
+                .description("Catalog reads by result: hit, stale (served while reloading) or miss")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public List<Article> getArticles() {
+        return current().articles();
+    }
+
+    public Article getArticle(String id) {
+        return current().articlesById().get(id);
+    }
+
+    public List<Article> getArticlesByCategory(String categoryId) {
+        return current().articlesByCategory().getOrDefault(categoryId, List.of());
+    }
+
+    public List<Category> getCategories() {
+        return current().categories();
+    }
+
+    public Category getCategory(String id) {
+        return current().categoriesById().get(id);
+    }
+
+    public Version getArticlesVersion() {
+        return current().articlesVersion();
+    }
+
+    public Version getCategoriesVersion() {
+        return current().categoriesVersion();
+    }
+
+    public Map<String, Article> getArticlesById() {
+        return current().articlesById();
+    }
+
+    /**
+     * Called with the reloaded articles each time a background reload replaces the snapshot,
+     * while the cache lock is held: writes made after the swap are applied after the listener.
+     */
+    public void onReload(Consumer<List<Article>> listener) {
+        reloadListeners.add(listener);
+    }
+
+    public synchronized void putArticle(Article article) {
+        version++;
+        Snapshot current = snapshot;
+        if (current == null)
+            return;
+        List<Article> articles = replaceOrAppend(current.articles(), article, Article::getId);
+        snapshot = Snapshot.of(current.categories(), articles, current.loadedAt(), current, clock.getAsLong());
+    }
+
+    public synchronized void removeArticle(String id) {
+        version++;
+        Snapshot current = snapshot;
+        if (current == null)
+            return;
+        List<Article> articles = current.articles().stream()
+                .filter(article -> !article.getId().equals(id))
+                .toList();
+        snapshot = Snapshot.of(current.categories(), articles, current.loadedAt(), current, clock.getAsLong());
+    }
+
+    public synchronized void putCategory(Category category) {
+        version++;
+        Snapshot current = snapshot;
+        if (current == null)
+            return;
+        List<Category> categories = replaceOrAppend(current.categories(), category, Category::getId);
+        snapshot = Snapshot.of(categories, current.articles(), current.loadedAt(), current, clock.getAsLong());
+    }
+
+    public synchronized void removeCategory(String id) {
+        version++;
+        Snapshot current = snapshot;
+        if (current == null)
+            return;
+        List<Category> categories = current.categories().stream()
+                .filter(category -> !category.getId().equals(id))
+                .toList();
+        // Même effet que la contrainte ON DELETE SET NULL sur articles.category_id
+        List<Article> articles = current.articles().stream()
+                .map(article -> {
+                    if (!id.equals(article.getCategoryId()))
+                        return article;
+                    Article detached = ArticleMapper.toDto(ArticleMapper.toEntity(article));
+                    detached.setCategoryId(null);
+                    return detached;
+                })
+                .toList();
+        snapshot = Snapshot.of(categories, articles, current.loadedAt(), current, clock.getAsLong());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            misses.increment();
+            return loadInitial();
+        }
+        if (clock.getAsLong() - current.loadedAt() >= refreshAfterMs) {
+            staleHits.increment();
+            refreshInBackground();
+        } else {
+            hits.increment();
+        }
+        return current;
+    }
+
+    private synchronized Snapshot loadInitial() {
+        if (snapshot == null)
+            snapshot = fetch();
+        return snapshot;
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true))
+            return;
+        long startVersion;
+        synchronized (this) {
+            startVersion = version;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    Snapshot fresh = fetch();
+                    synchronized (this) {
+                        // Sinon l'instantané reste périmé et la prochaine lecture relance un chargement
+                        if (version != startVersion)
+                            return;
+                        snapshot = fresh;
+                        // Sous le même verrou : une écriture admin ne peut pas s'intercaler puis être écrasée par l'index
+                        reloadListeners.forEach(listener -> listener.accept(fresh.articles()));
+                    }
+                } catch (RuntimeException e) {
+                    logger.warning("Catalog reload failed, serving the previous snapshot: " + e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    private Snapshot fetch() {
+        Snapshot previous = snapshot;
+        return Objects.requireNonNull(loads.record(() -> {
+            long now = clock.getAsLong();
+            return Snapshot.of(categoryRepository.getAllCategories(), articleRepository.getAllArticles(), now, previous, now);
+        }));
+    }
+
+    private static <T> List<T> replaceOrAppend(List<T> items, T item, Function<T, String> id) {
+        List<T> result = new ArrayList<>(items);
+        for (int i = 0; i < result.size(); i++) {
+            if (id.apply(result.get(i)).equals(id.apply(item))) {
+                result.set(i, item);
+                return result;
+            }
+        }
+        result.add(item);
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+}
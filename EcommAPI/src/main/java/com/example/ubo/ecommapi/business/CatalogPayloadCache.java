@@ -0,0 +1,78 @@
+package com.example.ubo.ecommapi.business;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized bodies of the hottest catalog reads, plain and gzipped, keyed by the version of the
+ * collection they were built from. Any write to the catalog changes the version, so a stale body
+ * is never looked up again and simply ages out.
+ */
+@Component
+public class CatalogPayloadCache {
+
+    // Corps déjà sérialisé, et sa variante gzip pour les clients qui l'acceptent
+    public record Payload(byte[] json, byte[] gzip) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<String, Payload> cache;
+
+    public CatalogPayloadCache(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${catalog.payload-cache.enabled:true}") boolean enabled,
+                               @Value("${catalog.payload-cache.max-size:32MB}") DataSize maxSize) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, Payload payload) -> payload.json().length + payload.gzip().length)
+                // Les versions remplacées ne sont plus demandées : inutile d'attendre l'éviction par la taille
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "catalog.payload");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Body of the read identified by key at this version, serialized from body on the first call only.
+     */
+    public Payload get(CatalogCache.Version version, String key, Supplier<?> body) {
+        // Un seul chargement par clé, même si plusieurs requêtes la demandent en même temps
+        return cache.get(version.tag() + " " + key, k -> serialize(body.get()));
+    }
+
+    private Payload serialize(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream output = new GZIPOutputStream(gzip)) {
+                output.write(json);
+            }
+            return new Payload(json, gzip.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Catalog payload is not serializable", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
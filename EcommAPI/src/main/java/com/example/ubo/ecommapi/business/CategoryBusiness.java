@@ -4,7 +4,11 @@ import com.example.ubo.ecommapi.entity.CategoryEntity;
 import com.example.ubo.ecommapi.exceptions.FunctionalException;
 import com.example.ubo.ecommapi.mapper.CategoryMapper;
 import com.example.ubo.ecommapi.repository.CategoryRepository;
+import dto.ecommapi.Category;
+import com.example.ubo.ecommapi.util.Page;
+import com.example.ubo.ecommapi.util.PageCursor;
 import jakarta.inject.Inject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -14,32 +18,67 @@ import static com.example.ubo.ecommapi.mapper.CategoryMapper.toEntity;
 
 @Component
 public class CategoryBusiness {
+    private static final String SORT_BY_ID = "id";
 
     @Inject
     private CategoryRepository categoryRepository;
 
+    @Inject
+    private CatalogCache catalogCache;
+
+    @Value("${catalog.page.default-limit:20}")
+    private int defaultPageSize;
+
+    @Value("${catalog.page.max-limit:100}")
+    private int maxPageSize;
+
     public CategoryEntity createCategory(CategoryEntity category) {
-        return toEntity(categoryRepository.addCategory(toDto(category)));
+        Category created = categoryRepository.addCategory(toDto(category));
+        catalogCache.putCategory(created);
+        return toEntity(created);
     }
 
     public CategoryEntity getCategoryById(String id) {
-        return toEntity(categoryRepository.getCategoryById(id));
+        Category category = catalogCache.getCategory(id);
+        if (category == null) {
+            throw new FunctionalException(1, "Category not found");
+        }
+        return toEntity(category);
     }
 
     public boolean deleteCategory(String id) {
-        return categoryRepository.deleteCategory(id);
+        boolean deleted = categoryRepository.deleteCategory(id);
+        if (deleted) {
+            catalogCache.removeCategory(id);
+        }
+        return deleted;
     }
 
     public CategoryEntity updateCategory(CategoryEntity category) {
         if(category.getId() == null || categoryRepository.getCategoryById(category.getId()) == null) {
             throw new FunctionalException(404, "Category not found");
         }
-        return toEntity(categoryRepository.updateCategory(toDto(category)));
+        Category updated = categoryRepository.updateCategory(toDto(category));
+        catalogCache.putCategory(updated);
+        return toEntity(updated);
+    }
+
+    public CatalogCache.Version getCategoriesVersion() {
+        return catalogCache.getCategoriesVersion();
     }
 
     public List<CategoryEntity> getAllCategories() {
-        return categoryRepository.getAllCategories().stream()
+        return catalogCache.getCategories().stream()
                 .map(CategoryMapper::toEntity)
                 .toList();
     }
-}
\ No newline at end of file
+
+    public Page<CategoryEntity> getCategoriesPage(String cursor, Integer limit) {
+        int pageSize = Page.pageSize(limit, defaultPageSize, maxPageSize);
+        PageCursor after = PageCursor.decode(cursor, SORT_BY_ID);
+        List<Category> rows = categoryRepository.getCategoriesPage(after != null ? after.id() : 0, pageSize + 1);
+        return Page.of(rows, pageSize,
+                category -> new PageCursor(SORT_BY_ID, null, Long.parseLong(category.getId())),
+                CategoryMapper::toEntity);
+    }
+}
@@ -1,14 +1,29 @@
 package com.example.ubo.ecommapi.clients;
 
 import dto.authapi.CheckResponse;
+import dto.authapi.JwkSet;
+import dto.authapi.RevocationFeed;
+import dto.authapi.TokenBatchRequest;
 import feign.Headers;
 import feign.Param;
 import feign.RequestLine;
 
+import java.util.List;
+
 public interface AuthApiClient {
 
     @RequestLine("GET /verify-token")
     @Headers("Authentication: {token}")
     CheckResponse validate(@Param("token") String token);
 
+    @RequestLine("POST /verify-tokens")
+    @Headers("Content-Type: application/json")
+    List<CheckResponse> validateAll(TokenBatchRequest request);
+
+    @RequestLine("GET /revocations?since={since}")
+    RevocationFeed revocations(@Param("since") long since);
+
+    @RequestLine("GET /.well-known/jwks.json")
+    JwkSet jwks();
+
 }
@@ -5,7 +5,9 @@ import feign.Feign;
 import feign.Logger;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
+import feign.micrometer.MicrometerCapability;
 import feign.okhttp.OkHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,14 +29,24 @@ public class FeignConfig {
     @Value("${auth.api.url}")
     private String authApiUrl;
 
+    @Value("${auth.api.service-token:}")
+    private String serviceToken;
+
     @Bean
-    AuthApiClient getAuthApiClient() {
+    AuthApiClient getAuthApiClient(MeterRegistry meterRegistry) {
         return Feign.builder()
                 .encoder(new JacksonEncoder())
                 .decoder(new JacksonDecoder())
                 .client(new OkHttpClient(getOkHttpClient()))
                 .logger(new Logger.JavaLogger(FeignConfig.class))
                 .logLevel(Logger.Level.FULL)
+                // Timer par méthode du client (feign.Client, feign.Feign) : part de chaque appel à AuthAPI
+                .addCapability(new MicrometerCapability(meterRegistry))
+                // Secret partagé exigé par les endpoints internes d'AuthAPI (/revocations)
+                .requestInterceptor(template -> {
+                    if (!serviceToken.isEmpty())
+                        template.header("X-Service-Token", serviceToken);
+                })
                 .target(AuthApiClient.class, authApiUrl);
     }
 
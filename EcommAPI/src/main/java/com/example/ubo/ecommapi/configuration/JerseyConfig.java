@@ -1,16 +1,27 @@
 package com.example.ubo.ecommapi.configuration;
 
+import com.example.ubo.ecommapi.filters.CompressionInterceptor;
+import com.example.ubo.ecommapi.filters.RequestMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.ws.rs.ApplicationPath;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 @Configuration
 @ApplicationPath("/api/v1")
 public class JerseyConfig extends ResourceConfig {
 
-    public JerseyConfig(){
+    public JerseyConfig(MeterRegistry meterRegistry,
+                        @Value("${compression.enabled:true}") boolean compressionEnabled,
+                        @Value("${compression.min-size:1KB}") DataSize compressionMinSize,
+                        @Value("${compression.level:6}") int compressionLevel){
         packages("com.example.ubo.ecommapi.controller");
         packages("com.example.ubo.ecommapi.handlers");
         packages("com.example.ubo.ecommapi.filters");
+        register(new RequestMetricsFilter(meterRegistry));
+        if (compressionEnabled)
+            register(new CompressionInterceptor((int) compressionMinSize.toBytes(), compressionLevel));
     }
 }
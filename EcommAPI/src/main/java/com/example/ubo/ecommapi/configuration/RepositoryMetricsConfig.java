@@ -0,0 +1,90 @@
+package com.example.ubo.ecommapi.configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Un timer et un nombre de lignes par méthode de repository : chaque bean du package
+ * repository est enveloppé dans un proxy qui mesure ses appels à NamedParameterJdbcTemplate.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+    private static final String REPOSITORY_PACKAGE = "com.example.ubo.ecommapi.repository";
+
+    // static : un BeanPostProcessor est créé avant les autres beans de la configuration
+    @Bean
+    static BeanPostProcessor repositoryMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Class<?> type = bean.getClass();
+                if (!REPOSITORY_PACKAGE.equals(type.getPackageName()) || Modifier.isFinal(type.getModifiers()))
+                    return bean;
+                ProxyFactory factory = new ProxyFactory(bean);
+                factory.setProxyTargetClass(true);
+                factory.addAdvice(timed(meterRegistry, type.getSimpleName()));
+                return factory.getProxy(type.getClassLoader());
+            }
+        };
+    }
+
+    private static MethodInterceptor timed(ObjectProvider<MeterRegistry> meterRegistry, String repository) {
+        return invocation -> {
+            // Le registre est résolu au premier appel : il n'existe pas encore quand les repositories sont créés
+            MeterRegistry registry = meterRegistry.getObject();
+            String method = invocation.getMethod().getName();
+            Timer.Sample sample = Timer.start(registry);
+            String outcome = "error";
+            try {
+                Object result = invocation.proceed();
+                outcome = "success";
+                long rows = invocation.getMethod().getReturnType() == void.class ? -1 : rowCount(result);
+                if (rows >= 0) {
+                    DistributionSummary.builder("repository.rows")
+                            .description("Rows returned or affected by a repository method")
+                            .tag("repository", repository)
+                            .tag("method", method)
+                            .register(registry)
+                            .record(rows);
+                }
+                return result;
+            } finally {
+                sample.stop(Timer.builder("repository.calls")
+                        .description("Repository method latency, database round trips included")
+                        .tag("repository", repository)
+                        .tag("method", method)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+        };
+    }
+
+    // -1 quand le résultat ne dit rien du nombre de lignes (booléen, chaîne...)
+    static long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof Map<?, ?> map) return map.size();
+        if (result instanceof Optional<?> optional) return optional.isPresent() ? 1 : 0;
+        if (result instanceof Integer count) return count;
+        if (result instanceof Long count) return count;
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) total += Math.max(count, 0);
+            return total;
+        }
+        if (result instanceof Boolean || result instanceof String) return -1;
+        return result == null ? 0 : 1;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.ubo.ecommapi.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Mode threads virtuels (spring.threads.virtual.enabled) : chaque requête Jersey tourne sur un
+ * thread virtuel, la limite de connexions à la base est alors tenue par un sémaphore.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    // static : un BeanPostProcessor est créé avant les autres beans de la configuration
+    @Bean
+    static BeanPostProcessor concurrencyLimitedDataSource(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource)
+                    return bean;
+                int permits = environment.getProperty("datasource-limit.permits", Integer.class, 0);
+                if (permits <= 0)
+                    permits = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                Duration timeout = environment.getProperty("datasource-limit.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+                return new ConcurrencyLimitedDataSource(dataSource, permits, timeout.toMillis());
+            }
+        };
+    }
+}
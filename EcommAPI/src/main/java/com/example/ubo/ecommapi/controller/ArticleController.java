@@ -1,17 +1,36 @@
 package com.example.ubo.ecommapi.controller;
 
 import com.example.ubo.ecommapi.business.ArticleBusiness;
+import com.example.ubo.ecommapi.business.CatalogCache;
+import com.example.ubo.ecommapi.business.CatalogPayloadCache;
 import com.example.ubo.ecommapi.entity.ArticleEntity;
+import com.example.ubo.ecommapi.entity.ArticleFilter;
+import com.example.ubo.ecommapi.exceptions.FunctionalException;
 import com.example.ubo.ecommapi.filters.AdminRequired;
 import com.example.ubo.ecommapi.filters.AuthenticationRequired;
 import com.example.ubo.ecommapi.mapper.ArticleMapper;
+import com.example.ubo.ecommapi.util.Page;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dto.ecommapi.Article;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
 import org.springframework.stereotype.Controller;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 import static com.example.ubo.ecommapi.mapper.ArticleMapper.toDto;
 import static com.example.ubo.ecommapi.mapper.ArticleMapper.toEntity;
@@ -21,9 +40,13 @@ import static com.example.ubo.ecommapi.mapper.ArticleMapper.toEntity;
 public class ArticleController {
 
     private final ArticleBusiness articleBusiness;
+    private final CatalogPayloadCache payloadCache;
+    private final ObjectMapper objectMapper;
 
-    public ArticleController(ArticleBusiness articleBusiness) {
+    public ArticleController(ArticleBusiness articleBusiness, CatalogPayloadCache payloadCache, ObjectMapper objectMapper) {
         this.articleBusiness = articleBusiness;
+        this.payloadCache = payloadCache;
+        this.objectMapper = objectMapper;
     }
 
     // ==================== PUBLIC ROUTES ====================
@@ -31,28 +54,92 @@ public class ArticleController {
     @GET
     @Path("/articles")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getAllArticles(@QueryParam("categoryId") String categoryId) {
-        List<ArticleEntity> articles;
+    public Response getAllArticles(@QueryParam("ids") String ids,
+                                   @QueryParam("categoryId") String categoryId,
+                                   @QueryParam("sort") String sort,
+                                   @QueryParam("minPrice") BigDecimal minPrice,
+                                   @QueryParam("maxPrice") BigDecimal maxPrice,
+                                   @QueryParam("inStock") boolean inStock,
+                                   @QueryParam("updatedAfter") String updatedAfter,
+                                   @QueryParam("limit") Integer limit,
+                                   @QueryParam("cursor") String cursor,
+                                   @Context UriInfo uriInfo,
+                                   @Context Request request,
+                                   @Context HttpHeaders headers) {
+        ArticleFilter filter = new ArticleFilter(emptyToNull(categoryId), minPrice, maxPrice, inStock, parseDate(updatedAfter));
+        CatalogCache.Version version = articleBusiness.getArticlesVersion();
+        EntityTag tag = Validators.listTag(version, uriInfo);
+        Date lastModified = new Date(version.lastModified());
+        Response notModified = Validators.notModified(request, tag, lastModified);
+        if (notModified != null) {
+            return notModified;
+        }
 
-        if (categoryId != null && !categoryId.isEmpty()) {
-            articles = articleBusiness.getArticlesByCategory(categoryId);
-        } else {
-            articles = articleBusiness.getAllArticles();
+        if (ids != null) {
+            // Lot d'articles par id (ex : lignes du panier), dans l'ordre demandé
+            var articlesDto = articleBusiness.getArticlesByIds(parseIds(ids)).stream()
+                    .map(ArticleMapper::toDto)
+                    .toList();
+            return Validators.ok(articlesDto, tag, lastModified).build();
+        }
+
+        // Tri, filtres de prix/stock/date et pagination sont résolus en SQL ; la liste complète reste servie par le cache
+        boolean narrowed = minPrice != null || maxPrice != null || inStock || filter.updatedAfter() != null;
+        if (limit != null || cursor != null || sort != null || narrowed) {
+            Page<ArticleEntity> page = articleBusiness.getArticlesPage(filter, sort, cursor, limit);
+            var pageDto = page.items().stream().map(ArticleMapper::toDto).toList();
+            return Pages.withNext(Validators.ok(pageDto, tag, lastModified), page.nextCursor(), uriInfo).build();
         }
 
-        var articlesDto = articles.stream()
+        if (payloadCache.isEnabled()) {
+            // Sérialisé une fois par version du catalogue, puis copié tel quel
+            CatalogPayloadCache.Payload payload = payloadCache.get(version, "articles?categoryId=" + Objects.toString(filter.categoryId(), ""),
+                    () -> articleBusiness.getArticles(filter.categoryId()).map(ArticleMapper::toDto).toList());
+            return Payloads.ok(payload, headers, tag, lastModified).build();
+        }
+
+        Stream<ArticleEntity> articles = articleBusiness.getArticles(filter.categoryId());
+        StreamingOutput articlesDto = Streams.jsonArray(objectMapper,
+                action -> articles.map(ArticleMapper::toDto).forEach(action));
+
+        return Validators.ok(articlesDto, tag, lastModified).build();
+    }
+
+    @GET
+    @Path("/articles/search")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response searchArticles(@QueryParam("q") String query,
+                                   @QueryParam("categoryId") String categoryId,
+                                   @QueryParam("minPrice") BigDecimal minPrice,
+                                   @QueryParam("maxPrice") BigDecimal maxPrice,
+                                   @QueryParam("inStock") boolean inStock,
+                                   @QueryParam("limit") Integer limit,
+                                   @Context UriInfo uriInfo,
+                                   @Context Request request) {
+        var filter = new ArticleFilter(emptyToNull(categoryId), minPrice, maxPrice, inStock, null);
+        EntityTag tag = Validators.listTag(articleBusiness.getArticlesVersion(), uriInfo);
+        Response notModified = Validators.notModified(request, tag, null);
+        if (notModified != null) {
+            return notModified;
+        }
+        var articlesDto = articleBusiness.searchArticles(query, filter, limit).stream()
                 .map(ArticleMapper::toDto)
                 .toList();
-
-        return Response.ok(articlesDto).build();
+        return Validators.ok(articlesDto, tag, null).build();
     }
 
     @GET
     @Path("/articles/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getArticleById(@PathParam("id") String id) {
-        ArticleEntity article = this.articleBusiness.getArticleById(id);
-        return Response.ok(toDto(article)).build();
+    public Response getArticleById(@PathParam("id") String id, @Context Request request) {
+        Article article = toDto(this.articleBusiness.getArticleById(id));
+        EntityTag tag = Validators.itemTag(article);
+        Date lastModified = Validators.lastModified(article.getUpdatedAt());
+        Response notModified = Validators.notModified(request, tag, lastModified);
+        if (notModified != null) {
+            return notModified;
+        }
+        return Validators.ok(article, tag, lastModified).build();
     }
 
     // ==================== ADMIN ROUTES ====================
@@ -69,6 +156,18 @@ public class ArticleController {
         return Response.status(Response.Status.CREATED).entity(created).build();
     }
 
+    @GET
+    @Path("/admin/articles")
+    @Produces(MediaType.APPLICATION_JSON)
+    @AuthenticationRequired
+    @AdminRequired
+    public Response exportArticles() {
+        // Lu en base et écrit ligne par ligne : mémoire constante, premier octet envoyé sans attendre la fin
+        StreamingOutput articles = Streams.jsonArray(objectMapper,
+                action -> articleBusiness.exportArticles(article -> action.accept(toDto(article))));
+        return Response.ok(articles).build();
+    }
+
     @PUT
     @Path("/admin/articles/{id}")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -92,4 +191,29 @@ public class ArticleController {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
     }
-}
\ No newline at end of file
+
+    private static String emptyToNull(String value) {
+        return value != null && !value.isEmpty() ? value : null;
+    }
+
+    private static List<String> parseIds(String value) {
+        List<String> ids = Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .toList();
+        if (ids.isEmpty() || !ids.stream().allMatch(id -> id.chars().allMatch(Character::isDigit))) {
+            throw new FunctionalException(400, "ids must be a comma-separated list of article ids");
+        }
+        return ids;
+    }
+
+    private static OffsetDateTime parseDate(String value) {
+        if (value == null || value.isEmpty())
+            return null;
+        try {
+            return OffsetDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new FunctionalException(400, "updatedAfter must be an ISO-8601 date-time with offset");
+        }
+    }
+}
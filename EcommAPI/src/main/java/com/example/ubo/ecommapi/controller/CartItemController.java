@@ -2,8 +2,10 @@ package com.example.ubo.ecommapi.controller;
 
 import com.example.ubo.ecommapi.business.CartItemBusiness;
 import com.example.ubo.ecommapi.entity.CartItemEntity;
+import com.example.ubo.ecommapi.filters.AdminRequired;
 import com.example.ubo.ecommapi.filters.AuthenticationRequired;
 import com.example.ubo.ecommapi.mapper.CartItemMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import dto.ecommapi.CartItem;
 import dto.ecommapi.Error;
 import jakarta.ws.rs.*;
@@ -11,23 +13,27 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.springframework.stereotype.Controller;
 
 import static com.example.ubo.ecommapi.mapper.CartItemMapper.toDto;
 import static com.example.ubo.ecommapi.mapper.CartItemMapper.toEntity;
 
 @Controller
-@Path("/cart")
+@Path("/")
 @AuthenticationRequired
 public class CartItemController {
 
     private final CartItemBusiness cartItemBusiness;
+    private final ObjectMapper objectMapper;
 
-    public CartItemController(CartItemBusiness cartItemBusiness) {
+    public CartItemController(CartItemBusiness cartItemBusiness, ObjectMapper objectMapper) {
         this.cartItemBusiness = cartItemBusiness;
+        this.objectMapper = objectMapper;
     }
 
     @GET
+    @Path("/cart")
     @Produces(MediaType.APPLICATION_JSON)
     public Response getCart(@Context SecurityContext securityContext) {
         String userId = securityContext.getUserPrincipal().getName();
@@ -42,6 +48,7 @@ public class CartItemController {
     }
 
     @POST
+    @Path("/cart")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public Response addToCart(@Context SecurityContext securityContext, CartItem cartItem) {
@@ -58,7 +65,7 @@ public class CartItemController {
     }
 
     @PUT
-    @Path("/{cartItemId}")
+    @Path("/cart/{cartItemId}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public Response updateCartItem(
@@ -75,7 +82,7 @@ public class CartItemController {
     }
 
     @DELETE
-    @Path("/{cartItemId}")
+    @Path("/cart/{cartItemId}")
     public Response deleteCartItem(
             @Context SecurityContext securityContext,
             @PathParam("cartItemId") String cartItemId) {
@@ -89,6 +96,7 @@ public class CartItemController {
     }
 
     @DELETE
+    @Path("/cart")
     public Response clearCart(@Context SecurityContext securityContext) {
         String userId = securityContext.getUserPrincipal().getName();
         boolean cleared = this.cartItemBusiness.clearCartByUserId(userId);
@@ -99,4 +107,17 @@ public class CartItemController {
             return Response.status(Response.Status.NOT_FOUND).build();
         }
     }
-}
\ No newline at end of file
+
+    // ==================== ADMIN ROUTES ====================
+
+    @GET
+    @Path("/admin/cart-items")
+    @Produces(MediaType.APPLICATION_JSON)
+    @AdminRequired
+    public Response exportCartItems() {
+        // Paniers de tous les utilisateurs, lus en base et écrits ligne par ligne
+        StreamingOutput cartItems = Streams.jsonArray(objectMapper,
+                action -> cartItemBusiness.exportCartItems(cartItem -> action.accept(toDto(cartItem))));
+        return Response.ok(cartItems).build();
+    }
+}
@@ -1,16 +1,26 @@
 package com.example.ubo.ecommapi.controller;
 
+import com.example.ubo.ecommapi.business.CatalogCache;
+import com.example.ubo.ecommapi.business.CatalogPayloadCache;
 import com.example.ubo.ecommapi.business.CategoryBusiness;
 import com.example.ubo.ecommapi.entity.CategoryEntity;
 import com.example.ubo.ecommapi.filters.AdminRequired;
 import com.example.ubo.ecommapi.filters.AuthenticationRequired;
 import com.example.ubo.ecommapi.mapper.CategoryMapper;
+import com.example.ubo.ecommapi.util.Page;
 import dto.ecommapi.Category;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 import org.springframework.stereotype.Controller;
 
+import java.util.Date;
+
 import static com.example.ubo.ecommapi.mapper.CategoryMapper.toDto;
 import static com.example.ubo.ecommapi.mapper.CategoryMapper.toEntity;
 
@@ -19,9 +29,11 @@ import static com.example.ubo.ecommapi.mapper.CategoryMapper.toEntity;
 public class CategoryController {
 
     private final CategoryBusiness categoryBusiness;
+    private final CatalogPayloadCache payloadCache;
 
-    public CategoryController(CategoryBusiness categoryBusiness) {
+    public CategoryController(CategoryBusiness categoryBusiness, CatalogPayloadCache payloadCache) {
         this.categoryBusiness = categoryBusiness;
+        this.payloadCache = payloadCache;
     }
 
     // ==================== PUBLIC ROUTES ====================
@@ -29,21 +41,49 @@ public class CategoryController {
     @GET
     @Path("/categories")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getAllCategories() {
+    public Response getAllCategories(@QueryParam("limit") Integer limit,
+                                     @QueryParam("cursor") String cursor,
+                                     @Context UriInfo uriInfo,
+                                     @Context Request request,
+                                     @Context HttpHeaders headers) {
+        CatalogCache.Version version = categoryBusiness.getCategoriesVersion();
+        EntityTag tag = Validators.listTag(version, uriInfo);
+        Date lastModified = new Date(version.lastModified());
+        Response notModified = Validators.notModified(request, tag, lastModified);
+        if (notModified != null) {
+            return notModified;
+        }
+
+        if (limit != null || cursor != null) {
+            Page<CategoryEntity> page = categoryBusiness.getCategoriesPage(cursor, limit);
+            var pageDto = page.items().stream().map(CategoryMapper::toDto).toList();
+            return Pages.withNext(Validators.ok(pageDto, tag, lastModified), page.nextCursor(), uriInfo).build();
+        }
+        if (payloadCache.isEnabled()) {
+            CatalogPayloadCache.Payload payload = payloadCache.get(version, "categories",
+                    () -> categoryBusiness.getAllCategories().stream().map(CategoryMapper::toDto).toList());
+            return Payloads.ok(payload, headers, tag, lastModified).build();
+        }
         var categories = categoryBusiness
                 .getAllCategories()
                 .stream()
                 .map(CategoryMapper::toDto)
                 .toList();
-        return Response.ok(categories).build();
+        return Validators.ok(categories, tag, lastModified).build();
     }
 
     @GET
     @Path("/categories/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getCategoryById(@PathParam("id") String id) {
-        CategoryEntity category = this.categoryBusiness.getCategoryById(id);
-        return Response.ok(toDto(category)).build();
+    public Response getCategoryById(@PathParam("id") String id, @Context Request request) {
+        Category category = toDto(this.categoryBusiness.getCategoryById(id));
+        // Les catégories n'ont pas de date de modification : validation par ETag seul
+        EntityTag tag = Validators.itemTag(category);
+        Response notModified = Validators.notModified(request, tag, null);
+        if (notModified != null) {
+            return notModified;
+        }
+        return Validators.ok(category, tag, null).build();
     }
 
     // ==================== ADMIN ROUTES ====================
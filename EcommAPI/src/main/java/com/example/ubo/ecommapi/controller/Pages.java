@@ -0,0 +1,23 @@
+package com.example.ubo.ecommapi.controller;
+
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+/**
+ * Réponse d'une page de listing : le corps reste un tableau, le curseur suivant passe par les en-têtes.
+ */
+final class Pages {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private Pages() {
+        // Prevent instantiation
+    }
+
+    static Response.ResponseBuilder withNext(Response.ResponseBuilder response, String nextCursor, UriInfo uriInfo) {
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+            response.link(uriInfo.getRequestUriBuilder().replaceQueryParam("cursor", nextCursor).build(), "next");
+        }
+        return response;
+    }
+}
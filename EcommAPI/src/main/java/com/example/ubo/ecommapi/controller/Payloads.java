@@ -0,0 +1,28 @@
+package com.example.ubo.ecommapi.controller;
+
+import com.example.ubo.ecommapi.business.CatalogPayloadCache;
+import com.example.ubo.ecommapi.util.ContentCoding;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Date;
+
+/**
+ * Réponse servie depuis un corps déjà sérialisé : les octets sont copiés tels quels, sans mapping ni Jackson.
+ */
+final class Payloads {
+
+    private Payloads() {
+        // Prevent instantiation
+    }
+
+    static Response.ResponseBuilder ok(CatalogPayloadCache.Payload payload, HttpHeaders headers, EntityTag tag, Date lastModified) {
+        boolean gzip = ContentCoding.accepts(headers.getHeaderString(HttpHeaders.ACCEPT_ENCODING), ContentCoding.GZIP);
+        byte[] body = gzip ? payload.gzip() : payload.json();
+        Response.ResponseBuilder response = Validators.ok(body, tag, lastModified)
+                .header(HttpHeaders.CONTENT_LENGTH, body.length)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return gzip ? response.encoding(ContentCoding.GZIP) : response;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ubo.ecommapi.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Listings written item by item into the response: the JSON array is never built in memory
+ * and the first items reach the client while the next ones are still being read.
+ */
+final class Streams {
+    // Éléments écrits entre deux envois vers le client
+    static final int FLUSH_EVERY = 200;
+
+    private Streams() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @param source calls its argument once per item, in order
+     */
+    static <T> StreamingOutput jsonArray(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return output -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+                // Le flux appartient à Jersey, qui le ferme lui-même
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.writeStartArray();
+                int[] written = {0};
+                try {
+                    source.accept(item -> {
+                        try {
+                            generator.writeObject(item);
+                            if (++written[0] % FLUSH_EVERY == 0)
+                                generator.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+}
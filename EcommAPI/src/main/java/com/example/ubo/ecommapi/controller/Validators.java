@@ -0,0 +1,57 @@
+package com.example.ubo.ecommapi.controller;
+
+import com.example.ubo.ecommapi.business.CatalogCache;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+import java.time.OffsetDateTime;
+import java.util.Date;
+
+/**
+ * GET conditionnels du catalogue : les validateurs sont calculés avant toute lecture de lignes,
+ * un client à jour reçoit un 304 sans corps.
+ */
+final class Validators {
+
+    // Le client garde la réponse mais la revalide à chaque affichage
+    private static final CacheControl REVALIDATE = CacheControl.valueOf("no-cache");
+
+    private Validators() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Tag of a listing: the collection version, plus the query string that selects the variant.
+     * Weak, since the same content may be sent compressed or not.
+     */
+    static EntityTag listTag(CatalogCache.Version version, UriInfo uriInfo) {
+        String query = uriInfo.getRequestUri().getRawQuery();
+        return new EntityTag(version.tag() + (query != null ? "-" + Integer.toHexString(query.hashCode()) : ""), true);
+    }
+
+    static EntityTag itemTag(Object item) {
+        return new EntityTag(Integer.toHexString(item.hashCode()), true);
+    }
+
+    static Date lastModified(OffsetDateTime dateTime) {
+        return dateTime != null ? Date.from(dateTime.toInstant()) : null;
+    }
+
+    /**
+     * 304 prêt à envoyer si le client est à jour, null sinon.
+     */
+    static Response notModified(Request request, EntityTag tag, Date lastModified) {
+        Response.ResponseBuilder response = lastModified != null
+                ? request.evaluatePreconditions(lastModified, tag)
+                : request.evaluatePreconditions(tag);
+        return response != null ? response.cacheControl(REVALIDATE).build() : null;
+    }
+
+    static Response.ResponseBuilder ok(Object entity, EntityTag tag, Date lastModified) {
+        Response.ResponseBuilder response = Response.ok(entity).tag(tag).cacheControl(REVALIDATE);
+        return lastModified != null ? response.lastModified(lastModified) : response;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ubo.ecommapi.entity;
+
+import dto.ecommapi.Article;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Optional restrictions on an article listing or search; null fields do not filter.
+ */
+public record ArticleFilter(String categoryId,
+                            BigDecimal minPrice,
+                            BigDecimal maxPrice,
+                            boolean inStockOnly,
+                            OffsetDateTime updatedAfter) {
+
+    public static final ArticleFilter NONE = new ArticleFilter(null, null, null, false, null);
+
+    public boolean accept(Article article) {
+        if (categoryId != null && !categoryId.equals(article.getCategoryId()))
+            return false;
+        if (minPrice != null && (article.getPrice() == null || article.getPrice().compareTo(minPrice) < 0))
+            return false;
+        if (maxPrice != null && (article.getPrice() == null || article.getPrice().compareTo(maxPrice) > 0))
+            return false;
+        if (inStockOnly && (article.getStock() == null || article.getStock() <= 0))
+            return false;
+        return updatedAfter == null || (article.getUpdatedAt() != null && article.getUpdatedAt().isAfter(updatedAfter));
+    }
+}
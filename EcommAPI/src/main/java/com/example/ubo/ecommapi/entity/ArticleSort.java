@@ -0,0 +1,79 @@
+package com.example.ubo.ecommapi.entity;
+
+import com.example.ubo.ecommapi.exceptions.FunctionalException;
+import dto.ecommapi.Article;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+
+/**
+ * Orders accepted by article listings. The id always breaks ties, in the same direction as the sort key.
+ */
+public enum ArticleSort {
+    ID("id", null, false),
+    PRICE("price", "price", false),
+    PRICE_DESC("-price", "price", true),
+    NEWEST("-createdAt", "created_at", true);
+
+    private final String param;
+    private final String column;
+    private final boolean descending;
+
+    ArticleSort(String param, String column, boolean descending) {
+        this.param = param;
+        this.column = column;
+        this.descending = descending;
+    }
+
+    public static ArticleSort fromParam(String param) {
+        if (param == null || param.isEmpty())
+            return ID;
+        return Arrays.stream(values())
+                .filter(sort -> sort.param.equals(param))
+                .findFirst()
+                .orElseThrow(() -> new FunctionalException(400, "Unknown sort " + param));
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * Colonne SQL de la clé de tri, null quand le tri se fait sur l'id seul.
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Sort key of the article as carried by a page cursor. Sort columns are NOT NULL in the schema.
+     */
+    public String keyOf(Article article) {
+        return switch (this) {
+            case ID -> null;
+            case PRICE, PRICE_DESC -> article.getPrice().toPlainString();
+            case NEWEST -> article.getCreatedAt().toString();
+        };
+    }
+
+    /**
+     * Valeur SQL d'une clé lue dans un curseur.
+     */
+    public Object keyParameter(String key) {
+        try {
+            return switch (this) {
+                case ID -> null;
+                case PRICE, PRICE_DESC -> new BigDecimal(key);
+                case NEWEST -> Timestamp.from(OffsetDateTime.parse(key).toInstant());
+            };
+        } catch (RuntimeException e) {
+            throw new FunctionalException(400, "Invalid cursor");
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.ubo.ecommapi.filters;
 
-import com.example.ubo.ecommapi.clients.AuthApiClient;
+import com.example.ubo.ecommapi.security.TokenVerifier;
 import dto.ecommapi.Error;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.container.ContainerRequestContext;
@@ -21,7 +21,7 @@ import java.util.List;
 public class AuthenticationRequiredImpl implements ContainerRequestFilter {
 
     @Inject
-    private AuthApiClient authClient;
+    private TokenVerifier tokenVerifier;
 
     @Context
     private ResourceInfo resourceInfo;
@@ -34,7 +34,7 @@ public class AuthenticationRequiredImpl implements ContainerRequestFilter {
             if(authHeader == null || authHeader.size() != 1) {
                 throw new Exception("Malformed authentication header.");
             }
-            var cr = authClient.validate(authHeader.get(0));
+            var cr = tokenVerifier.verify(authHeader.get(0));
             if(!cr.isValid()) throw new Exception("Invalid token.");
 
             var securityContext = requestContext.getSecurityContext();
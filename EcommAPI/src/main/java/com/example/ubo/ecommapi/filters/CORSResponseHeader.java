@@ -12,6 +12,7 @@ public class CORSResponseHeader implements ContainerResponseFilter {
         MultivaluedMap<String, Object> headers = responseContext.getHeaders();
         headers.add("Access-Control-Allow-Origin", "*");
         headers.add("Access-Control-Allow-Methods", "GET, POST, DELETE, PUT");
-        headers.add("Access-Control-Allow-Headers", "X-Requested-With, Content-Type");
+        headers.add("Access-Control-Allow-Headers", "X-Requested-With, Content-Type, If-None-Match, If-Modified-Since");
+        headers.add("Access-Control-Expose-Headers", "X-Next-Cursor, Link, ETag, Last-Modified");
     }
 }
@@ -0,0 +1,93 @@
+package com.example.ubo.ecommapi.filters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+
+/**
+ * Latency of every request, tagged by resource, HTTP method and status. The timer starts before
+ * matching and authentication, so unmatched URIs (404) and rejected tokens (401) are recorded
+ * too, under resource=UNKNOWN when no resource method was matched.
+ * Entity serialization runs after the response filters and is timed separately.
+ */
+@PreMatching
+@Priority(Priorities.AUTHENTICATION - 100)
+public class RequestMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+    private static final String SAMPLE_PROPERTY = RequestMetricsFilter.class.getName() + ".sample";
+    private static final String RESOURCE_PROPERTY = RequestMetricsFilter.class.getName() + ".resource";
+    static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        requestContext.setProperty(SAMPLE_PROPERTY, Timer.start(meterRegistry));
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        String resource = resourceName();
+        requestContext.setProperty(RESOURCE_PROPERTY, resource);
+        // Absent seulement si un autre filtre pré-matching a interrompu la requête avant le nôtre
+        if (!(requestContext.getProperty(SAMPLE_PROPERTY) instanceof Timer.Sample sample))
+            return;
+        int status = responseContext.getStatus();
+        sample.stop(Timer.builder("jersey.requests")
+                .description("Time spent in the resource method and filters, serialization excluded")
+                .tag("resource", resource)
+                .tag("method", requestContext.getMethod())
+                .tag("status", String.valueOf(status))
+                .tag("outcome", outcome(status))
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            context.proceed();
+        } finally {
+            Object resource = context.getProperty(RESOURCE_PROPERTY);
+            sample.stop(Timer.builder("jersey.serialization")
+                    .description("Time spent writing the response entity")
+                    .tag("resource", resource != null ? resource.toString() : UNKNOWN)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private String resourceName() {
+        // Tag borné : classe et méthode Java plutôt que l'URI réelle, qui contient des identifiants
+        if (resourceInfo == null || resourceInfo.getResourceMethod() == null)
+            return UNKNOWN;
+        return resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName();
+    }
+
+    private static String outcome(int status) {
+        if (status < 200) return "INFORMATIONAL";
+        if (status < 300) return "SUCCESS";
+        if (status < 400) return "REDIRECTION";
+        if (status < 500) return "CLIENT_ERROR";
+        return "SERVER_ERROR";
+    }
+}
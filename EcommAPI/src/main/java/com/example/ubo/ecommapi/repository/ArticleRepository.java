@@ -1,7 +1,13 @@
 package com.example.ubo.ecommapi.repository;
 
+import com.example.ubo.ecommapi.entity.ArticleFilter;
+import com.example.ubo.ecommapi.entity.ArticleSort;
 import com.example.ubo.ecommapi.exceptions.FunctionalException;
+import com.example.ubo.ecommapi.util.PageCursor;
 import dto.ecommapi.Article;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -10,15 +16,20 @@ import org.springframework.stereotype.Component;
 
 import java.sql.Timestamp;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Component
 public class ArticleRepository {
 
     private final NamedParameterJdbcTemplate jdbcTemplate;
 
+    @Value("${repository.stream-fetch-size:500}")
+    private int streamFetchSize;
+
     public ArticleRepository(NamedParameterJdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
     }
@@ -40,9 +51,28 @@ public class ArticleRepository {
     private static final String SQL_SELECT_ALL_ARTICLES =
             "SELECT * FROM articles;";
 
+    private static final String SQL_SELECT_ALL_ARTICLES_BY_ID =
+            "SELECT * FROM articles ORDER BY id;";
+
     private static final String SQL_SELECT_ARTICLES_BY_CATEGORY =
             "SELECT * FROM articles WHERE category_id = :categoryId;";
 
+    private static final RowMapper<Article> ARTICLE_ROW_MAPPER = (r, s) -> {
+        Article article = new Article();
+        article.setId(String.valueOf(r.getInt("ID")));
+        article.setName(r.getString("NAME"));
+        article.setDescription(r.getString("DESCRIPTION"));
+        article.setPrice(r.getBigDecimal("PRICE"));
+        article.setStock(r.getInt("STOCK"));
+        article.setCategoryId(r.getObject("CATEGORY_ID") != null ? String.valueOf(r.getLong("CATEGORY_ID")) : null);
+        article.setImageUrl(r.getString("IMAGE_URL"));
+        Timestamp createdAt = r.getTimestamp("CREATED_AT");
+        article.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
+        Timestamp updatedAt = r.getTimestamp("UPDATED_AT");
+        article.setUpdatedAt(updatedAt != null ? updatedAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
+        return article;
+    };
+
     public Article addArticle(Article article) {
         Map<String, Object> params = new HashMap<>();
         params.put("name", article.getName());
@@ -60,21 +90,7 @@ public class ArticleRepository {
         Map<String, Object> params = new HashMap<>();
         params.put("id", id);
         try {
-            return jdbcTemplate.queryForObject(SQL_SELECT_ARTICLE, params, (r, s) -> {
-                Article article = new Article();
-                article.setId(String.valueOf(r.getInt("ID")));
-                article.setName(r.getString("NAME"));
-                article.setDescription(r.getString("DESCRIPTION"));
-                article.setPrice(r.getBigDecimal("PRICE"));
-                article.setStock(r.getInt("STOCK"));
-                article.setCategoryId(r.getObject("CATEGORY_ID") != null ? String.valueOf(r.getLong("CATEGORY_ID")) : null);
-                article.setImageUrl(r.getString("IMAGE_URL"));
-                Timestamp createdAt = r.getTimestamp("CREATED_AT");
-                article.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-                Timestamp updatedAt = r.getTimestamp("UPDATED_AT");
-                article.setUpdatedAt(updatedAt != null ? updatedAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-                return article;
-            });
+            return jdbcTemplate.queryForObject(SQL_SELECT_ARTICLE, params, ARTICLE_ROW_MAPPER);
         } catch (Exception e) {
             throw new FunctionalException(1, "Article not found");
         }
@@ -107,40 +123,77 @@ public class ArticleRepository {
     }
 
     public List<Article> getAllArticles() {
-        return jdbcTemplate.query(SQL_SELECT_ALL_ARTICLES, (r, s) -> {
-            Article article = new Article();
-            article.setId(String.valueOf(r.getInt("ID")));
-            article.setName(r.getString("NAME"));
-            article.setDescription(r.getString("DESCRIPTION"));
-            article.setPrice(r.getBigDecimal("PRICE"));
-            article.setStock(r.getInt("STOCK"));
-            article.setCategoryId(r.getObject("CATEGORY_ID") != null ? String.valueOf(r.getLong("CATEGORY_ID")) : null);
-            article.setImageUrl(r.getString("IMAGE_URL"));
-            Timestamp createdAt = r.getTimestamp("CREATED_AT");
-            article.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-            Timestamp updatedAt = r.getTimestamp("UPDATED_AT");
-            article.setUpdatedAt(updatedAt != null ? updatedAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-            return article;
-        });
+        return jdbcTemplate.query(SQL_SELECT_ALL_ARTICLES, ARTICLE_ROW_MAPPER);
+    }
+
+    /**
+     * Parcourt tous les articles par id croissant sans les charger en mémoire. La connexion reste
+     * empruntée jusqu'à la dernière ligne : l'action ne doit pas attendre autre chose que le client.
+     */
+    public void streamAllArticles(Consumer<Article> action) {
+        jdbcTemplate.getJdbcTemplate().query(ForwardOnlyQuery.of(SQL_SELECT_ALL_ARTICLES_BY_ID, streamFetchSize),
+                (RowCallbackHandler) r -> action.accept(ARTICLE_ROW_MAPPER.mapRow(r, r.getRow())));
     }
 
     public List<Article> getArticlesByCategory(String categoryId) {
         Map<String, Object> params = new HashMap<>();
         params.put("categoryId", categoryId);
-        return jdbcTemplate.query(SQL_SELECT_ARTICLES_BY_CATEGORY, params, (r, s) -> {
-            Article article = new Article();
-            article.setId(String.valueOf(r.getInt("ID")));
-            article.setName(r.getString("NAME"));
-            article.setDescription(r.getString("DESCRIPTION"));
-            article.setPrice(r.getBigDecimal("PRICE"));
-            article.setStock(r.getInt("STOCK"));
-            article.setCategoryId(r.getObject("CATEGORY_ID") != null ? String.valueOf(r.getLong("CATEGORY_ID")) : null);
-            article.setImageUrl(r.getString("IMAGE_URL"));
-            Timestamp createdAt = r.getTimestamp("CREATED_AT");
-            article.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-            Timestamp updatedAt = r.getTimestamp("UPDATED_AT");
-            article.setUpdatedAt(updatedAt != null ? updatedAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-            return article;
-        });
+        return jdbcTemplate.query(SQL_SELECT_ARTICLES_BY_CATEGORY, params, ARTICLE_ROW_MAPPER);
+    }
+
+    /**
+     * Page d'articles filtrée et triée, lue après le curseur : le tri et les filtres sont
+     * servis par les index composites de data.sql, quelle que soit la profondeur de la page.
+     */
+    public List<Article> getArticlesPage(ArticleFilter filter, ArticleSort sort, PageCursor after, int limit) {
+        PageQuery query = pageQuery(filter, sort, after, limit);
+        return jdbcTemplate.query(query.sql(), query.params(), ARTICLE_ROW_MAPPER);
+    }
+
+    record PageQuery(String sql, MapSqlParameterSource params) {
+    }
+
+    static PageQuery pageQuery(ArticleFilter filter, ArticleSort sort, PageCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        if (filter.categoryId() != null) {
+            conditions.add("category_id = :categoryId");
+            params.addValue("categoryId", filter.categoryId());
+        }
+        if (filter.minPrice() != null) {
+            conditions.add("price >= :minPrice");
+            params.addValue("minPrice", filter.minPrice());
+        }
+        if (filter.maxPrice() != null) {
+            conditions.add("price <= :maxPrice");
+            params.addValue("maxPrice", filter.maxPrice());
+        }
+        if (filter.inStockOnly()) {
+            conditions.add("stock > 0");
+        }
+        if (filter.updatedAfter() != null) {
+            conditions.add("updated_at > :updatedAfter");
+            params.addValue("updatedAfter", Timestamp.from(filter.updatedAfter().toInstant()));
+        }
+        String direction = sort.isDescending() ? " DESC" : "";
+        String comparison = sort.isDescending() ? " < " : " > ";
+        if (after != null) {
+            params.addValue("afterId", after.id());
+            if (sort.getColumn() == null) {
+                conditions.add("id" + comparison + ":afterId");
+            } else {
+                // Keyset sur (clé de tri, id) : les articles de même clé sont départagés par l'id
+                conditions.add("(" + sort.getColumn() + comparison + ":afterKey OR (" + sort.getColumn()
+                        + " = :afterKey AND id" + comparison + ":afterId))");
+                params.addValue("afterKey", sort.keyParameter(after.key()));
+            }
+        }
+        String orderBy = sort.getColumn() == null
+                ? "id" + direction
+                : sort.getColumn() + direction + ", id" + direction;
+        String sql = "SELECT * FROM articles"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + orderBy + " LIMIT :limit";
+        return new PageQuery(sql, params);
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,9 @@ package com.example.ubo.ecommapi.repository;
 
 import com.example.ubo.ecommapi.exceptions.FunctionalException;
 import dto.ecommapi.CartItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;import org.springframework.jdbc.support.KeyHolder;import org.springframework.stereotype.Component;
 
@@ -10,12 +13,16 @@ import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Component
 public class CartItemRepository {
 
     private final NamedParameterJdbcTemplate jdbcTemplate;
 
+    @Value("${repository.stream-fetch-size:500}")
+    private int streamFetchSize;
+
     public CartItemRepository(NamedParameterJdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
     }
@@ -37,11 +44,23 @@ public class CartItemRepository {
             "SELECT * FROM cart_items WHERE user_id = :userId;";
 
     private static final String SQL_SELECT_ALL_CART_ITEMS =
-            "SELECT * FROM cart_items;";
+            "SELECT * FROM cart_items ORDER BY id;";
 
     private static final String SQL_DELETE_CART_ITEMS_BY_USER =
             "DELETE FROM cart_items WHERE user_id = :userId;";
 
+    private static final RowMapper<CartItem> CART_ITEM_ROW_MAPPER = (r, s) -> {
+        CartItem cartItem = new CartItem();
+        cartItem.setId(String.valueOf(r.getInt("ID")));
+        cartItem.setUserId(String.valueOf(r.getLong("USER_ID")));
+        cartItem.setArticleId(String.valueOf(r.getLong("ARTICLE_ID")));
+        cartItem.setQuantity(r.getInt("QUANTITY"));
+        cartItem.setPriceAtAdd(r.getBigDecimal("PRICE_AT_ADD"));
+        Timestamp createdAt = r.getTimestamp("CREATED_AT");
+        cartItem.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
+        return cartItem;
+    };
+
     public CartItem addCartItem(CartItem cartItem) {
         Map<String, Object> params = new HashMap<>();
         params.put("userId", Long.valueOf(cartItem.getUserId()));
@@ -57,17 +76,7 @@ public class CartItemRepository {
         Map<String, Object> params = new HashMap<>();
         params.put("id", id);
         try {
-            return jdbcTemplate.queryForObject(SQL_SELECT_CART_ITEM, params, (r, s) -> {
-                CartItem cartItem = new CartItem();
-                cartItem.setId(String.valueOf(r.getInt("ID")));
-                cartItem.setUserId(String.valueOf(r.getLong("USER_ID")));
-                cartItem.setArticleId(String.valueOf(r.getLong("ARTICLE_ID")));
-                cartItem.setQuantity(r.getInt("QUANTITY"));
-                cartItem.setPriceAtAdd(r.getBigDecimal("PRICE_AT_ADD"));
-                Timestamp createdAt = r.getTimestamp("CREATED_AT");
-                cartItem.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-                return cartItem;
-            });
+            return jdbcTemplate.queryForObject(SQL_SELECT_CART_ITEM, params, CART_ITEM_ROW_MAPPER);
         } catch (Exception e) {
             throw new FunctionalException(1, "Cart item not found");
         }
@@ -96,31 +105,15 @@ public class CartItemRepository {
     public List<CartItem> getCartItemsByUserId(String userId) {
         Map<String, Object> params = new HashMap<>();
         params.put("userId", userId);
-        return jdbcTemplate.query(SQL_SELECT_CART_ITEMS_BY_USER, params, (r, s) -> {
-            CartItem cartItem = new CartItem();
-            cartItem.setId(String.valueOf(r.getInt("ID")));
-            cartItem.setUserId(String.valueOf(r.getLong("USER_ID")));
-            cartItem.setArticleId(String.valueOf(r.getLong("ARTICLE_ID")));
-            cartItem.setQuantity(r.getInt("QUANTITY"));
-            cartItem.setPriceAtAdd(r.getBigDecimal("PRICE_AT_ADD"));
-            Timestamp createdAt = r.getTimestamp("CREATED_AT");
-            cartItem.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-            return cartItem;
-        });
+        return jdbcTemplate.query(SQL_SELECT_CART_ITEMS_BY_USER, params, CART_ITEM_ROW_MAPPER);
     }
 
-    public List<CartItem> getAllCartItems() {
-        return jdbcTemplate.query(SQL_SELECT_ALL_CART_ITEMS, (r, s) -> {
-            CartItem cartItem = new CartItem();
-            cartItem.setId(String.valueOf(r.getInt("ID")));
-            cartItem.setUserId(String.valueOf(r.getLong("USER_ID")));
-            cartItem.setArticleId(String.valueOf(r.getLong("ARTICLE_ID")));
-            cartItem.setQuantity(r.getInt("QUANTITY"));
-            cartItem.setPriceAtAdd(r.getBigDecimal("PRICE_AT_ADD"));
-            Timestamp createdAt = r.getTimestamp("CREATED_AT");
-            cartItem.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-            return cartItem;
-        });
+    /**
+     * Parcourt tous les articles de panier par id croissant sans les charger en mémoire.
+     */
+    public void streamAllCartItems(Consumer<CartItem> action) {
+        jdbcTemplate.getJdbcTemplate().query(ForwardOnlyQuery.of(SQL_SELECT_ALL_CART_ITEMS, streamFetchSize),
+                (RowCallbackHandler) r -> action.accept(CART_ITEM_ROW_MAPPER.mapRow(r, r.getRow())));
     }
 
     public boolean clearCartByUserId(String userId) {
@@ -2,6 +2,7 @@ package com.example.ubo.ecommapi.repository;
 
 import com.example.ubo.ecommapi.exceptions.FunctionalException;
 import dto.ecommapi.Category;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -37,6 +38,19 @@ public class CategoryRepository {
     private static final String SQL_SELECT_ALL_CATEGORIES =
             "SELECT * FROM categories;";
 
+    private static final String SQL_SELECT_CATEGORIES_PAGE =
+            "SELECT * FROM categories WHERE id > :afterId ORDER BY id LIMIT :limit;";
+
+    private static final RowMapper<Category> CATEGORY_ROW_MAPPER = (r, s) -> {
+        Category category = new Category();
+        category.setId(String.valueOf(r.getInt("ID")));
+        category.setName(r.getString("NAME"));
+        category.setDescription(r.getString("DESCRIPTION"));
+        Timestamp createdAt = r.getTimestamp("CREATED_AT");
+        category.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
+        return category;
+    };
+
     public Category addCategory(Category category) {
         Map<String, Object> params = new HashMap<>();
         params.put("name", category.getName());
@@ -50,15 +64,7 @@ public class CategoryRepository {
         Map<String, Object> params = new HashMap<>();
         params.put("id", id);
         try {
-            return jdbcTemplate.queryForObject(SQL_SELECT_CATEGORY, params, (r, s) -> {
-                Category category = new Category();
-                category.setId(String.valueOf(r.getInt("ID")));
-                category.setName(r.getString("NAME"));
-                category.setDescription(r.getString("DESCRIPTION"));
-                Timestamp createdAt = r.getTimestamp("CREATED_AT");
-                category.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-                return category;
-            });
+            return jdbcTemplate.queryForObject(SQL_SELECT_CATEGORY, params, CATEGORY_ROW_MAPPER);
         } catch (Exception e) {
             throw new FunctionalException(1, "Category not found");
         }
@@ -86,14 +92,13 @@ public class CategoryRepository {
     }
 
     public List<Category> getAllCategories() {
-        return jdbcTemplate.query(SQL_SELECT_ALL_CATEGORIES, (r, s) -> {
-            Category category = new Category();
-            category.setId(String.valueOf(r.getInt("ID")));
-            category.setName(r.getString("NAME"));
-            category.setDescription(r.getString("DESCRIPTION"));
-            Timestamp createdAt = r.getTimestamp("CREATED_AT");
-            category.setCreatedAt(createdAt != null ? createdAt.toInstant().atOffset(java.time.ZoneOffset.UTC) : null);
-            return category;
-        });
+        return jdbcTemplate.query(SQL_SELECT_ALL_CATEGORIES, CATEGORY_ROW_MAPPER);
+    }
+
+    public List<Category> getCategoriesPage(long afterId, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("afterId", afterId);
+        params.put("limit", limit);
+        return jdbcTemplate.query(SQL_SELECT_CATEGORIES_PAGE, params, CATEGORY_ROW_MAPPER);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.example.ubo.ecommapi.repository;
+
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+import java.sql.ResultSet;
+
+/**
+ * Requête lue en flux : le driver ramène les lignes par lots de fetchSize au lieu de charger
+ * tout le résultat, la mémoire utilisée ne dépend pas de la taille de la table.
+ */
+final class ForwardOnlyQuery {
+
+    private ForwardOnlyQuery() {
+        // Prevent instantiation
+    }
+
+    static PreparedStatementCreator of(String sql, int fetchSize) {
+        return connection -> {
+            var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ubo.ecommapi.security;
+
+import com.example.ubo.ecommapi.clients.AuthApiClient;
+import dto.authapi.Jwk;
+import dto.authapi.JwkSet;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.InvalidKeyException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Resolves the verification key of a token from the JWKS published by AuthAPI.
+ * Keys are fetched lazily and refreshed when an unknown kid shows up (key rotation).
+ */
+@Component
+public class JwksKeyLocator extends LocatorAdapter<Key> {
+    private static final Logger logger = Logger.getLogger(JwksKeyLocator.class.getName());
+
+    // Avoid hammering AuthAPI with tokens carrying a forged kid
+    private static final long MIN_REFRESH_INTERVAL_MS = 30_000;
+
+    private final AuthApiClient authClient;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private long lastRefresh;
+
+    public JwksKeyLocator(AuthApiClient authClient) {
+        this.authClient = authClient;
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new InvalidKeyException("Missing key id.");
+        }
+        PublicKey key = keys.get(kid);
+        if (key == null) {
+            refresh();
+            key = keys.get(kid);
+        }
+        if (key == null) {
+            throw new InvalidKeyException("Unknown key id " + kid);
+        }
+        return key;
+    }
+
+    private synchronized void refresh() {
+        long now = System.currentTimeMillis();
+        if (now - lastRefresh < MIN_REFRESH_INTERVAL_MS) {
+            return;
+        }
+        lastRefresh = now;
+        JwkSet jwkSet = authClient.jwks();
+        if (jwkSet == null || jwkSet.getKeys() == null) {
+            return;
+        }
+        Map<String, PublicKey> fresh = new HashMap<>();
+        for (Jwk jwk : jwkSet.getKeys()) {
+            if (!"RSA".equals(jwk.getKty()) || jwk.getKid() == null) {
+                continue;
+            }
+            try {
+                fresh.put(jwk.getKid(), toPublicKey(jwk));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                logger.warning("Ignoring malformed JWK " + jwk.getKid() + ": " + e.getMessage());
+            }
+        }
+        keys = Map.copyOf(fresh);
+    }
+
+    private static PublicKey toPublicKey(Jwk jwk) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        BigInteger modulus = new BigInteger(1, decoder.decode(jwk.getN()));
+        BigInteger exponent = new BigInteger(1, decoder.decode(jwk.getE()));
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.ubo.ecommapi.security;
+
+import com.example.ubo.ecommapi.clients.AuthApiClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import dto.authapi.CheckResponse;
+import dto.authapi.RevocationFeed;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Bounded cache of successful token validations, keyed by a SHA-256 of the token.
+ * An entry never outlives the token expiry and is dropped as soon as AuthAPI
+ * reports the token as revoked through its revocation feed.
+ */
+@Component
+public class TokenValidationCache {
+    private static final Logger logger = Logger.getLogger(TokenValidationCache.class.getName());
+
+    // Overlap between two feed reads so that a revocation recorded while polling is never missed
+    private static final long REVOCATION_POLL_OVERLAP_MS = 5_000;
+
+    private final AuthApiClient authClient;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Cache<String, CachedValidation> cache;
+    private final Counter revokedCounter;
+
+    // Horloge d'AuthAPI, jamais la nôtre : 0 tant que le flux n'a pas été lu (tout le flux au premier appel)
+    private volatile long lastRevocationPoll;
+
+    private record CachedValidation(CheckResponse response, String tokenId, long expiresAt) {
+    }
+
+    public TokenValidationCache(AuthApiClient authClient,
+                                MeterRegistry meterRegistry,
+                                @Value("${auth.token-cache.enabled:true}") boolean enabled,
+                                @Value("${auth.token-cache.max-size:10000}") long maxSize,
+                                @Value("${auth.token-cache.ttl:5m}") Duration ttl) {
+        this.authClient = authClient;
+        this.enabled = enabled;
+        this.ttlMillis = ttl.toMillis();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedValidation>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedValidation value, long currentTime) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedValidation value, long currentTime, long currentDuration) {
+                        return remainingNanos(value);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedValidation value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.token.validation");
+        this.revokedCounter = Counter.builder("auth.token.validation.revoked")
+                .description("Cached validations dropped because AuthAPI reported the token as revoked")
+                .register(meterRegistry);
+    }
+
+    public CheckResponse get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        CachedValidation cached = cache.getIfPresent(hash(token));
+        return cached != null ? cached.response() : null;
+    }
+
+    public void put(String token, CheckResponse response, Claims claims) {
+        if (!enabled || claims.getExpiration() == null) {
+            return;
+        }
+        long expiresAt = Math.min(System.currentTimeMillis() + ttlMillis, claims.getExpiration().getTime());
+        cache.put(hash(token), new CachedValidation(response, claims.getId(), expiresAt));
+    }
+
+    @Scheduled(fixedDelayString = "${auth.token-cache.revocation-poll-interval-ms:10000}")
+    public void pollRevocations() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            RevocationFeed feed = authClient.revocations(lastRevocationPoll > 0 ? lastRevocationPoll - REVOCATION_POLL_OVERLAP_MS : 0);
+            if (feed == null || feed.getTimestamp() == null) {
+                return;
+            }
+            if (feed.getTokenIds() != null && !feed.getTokenIds().isEmpty()) {
+                Set<String> revoked = new HashSet<>(feed.getTokenIds());
+                cache.asMap().values().removeIf(v -> {
+                    boolean drop = v.tokenId() != null && revoked.contains(v.tokenId());
+                    if (drop) {
+                        revokedCounter.increment();
+                    }
+                    return drop;
+                });
+            }
+            lastRevocationPoll = feed.getTimestamp();
+        } catch (Exception e) {
+            logger.warning("Unable to read the revocation feed: " + e.getMessage());
+        }
+    }
+
+    private static long remainingNanos(CachedValidation value) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt() - System.currentTimeMillis()));
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ubo.ecommapi.security;
+
+import com.example.ubo.ecommapi.clients.AuthApiClient;
+import dto.authapi.CheckResponse;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies signature, issuer, audience and expiry of AuthAPI tokens in-process.
+ * Access tokens are short-lived, so by default they are trusted on signature alone;
+ * AuthAPI is only called to know whether a token has been revoked when revocation-check is on.
+ */
+@Component
+public class TokenVerifier {
+
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ADMIN = "admin";
+
+    private final JwtParser parser;
+    private final AuthApiClient authClient;
+    private final TokenValidationCache validationCache;
+    private final boolean revocationCheck;
+
+    public TokenVerifier(JwksKeyLocator keyLocator,
+                         AuthApiClient authClient,
+                         TokenValidationCache validationCache,
+                         @Value("${auth.jwt.issuer:auth-api}") String issuer,
+                         @Value("${auth.jwt.audience:ecomm-api}") String audience,
+                         @Value("${auth.jwt.revocation-check:false}") boolean revocationCheck) {
+        this.parser = Jwts.parser()
+                .requireIssuer(issuer)
+                .requireAudience(audience)
+                .keyLocator(keyLocator)
+                .build();
+        this.authClient = authClient;
+        this.validationCache = validationCache;
+        this.revocationCheck = revocationCheck;
+    }
+
+    public CheckResponse verify(String token) {
+        CheckResponse cached = validationCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return new CheckResponse().valid(false);
+        }
+        if (revocationCheck) {
+            CheckResponse remote = authClient.validate(token);
+            if (remote == null || !Boolean.TRUE.equals(remote.isValid())) {
+                return new CheckResponse().valid(false);
+            }
+        }
+        CheckResponse response = new CheckResponse()
+                .valid(true)
+                .id(claims.get(CLAIM_USER_ID, String.class))
+                .username(claims.getSubject())
+                .admin(Boolean.TRUE.equals(claims.get(CLAIM_ADMIN, Boolean.class)));
+        validationCache.put(token, response, claims);
+        return response;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ubo.ecommapi.util;
+
+import com.example.ubo.ecommapi.exceptions.FunctionalException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset listing, with the cursor of the next page or null on the last one.
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds the page from rows read with a limit of pageSize + 1: the extra row,
+     * dropped here, only tells that a next page exists.
+     */
+    public static <R, T> Page<T> of(List<R> rows, int pageSize, Function<R, PageCursor> cursorOf, Function<R, T> mapper) {
+        boolean hasNext = rows.size() > pageSize;
+        List<R> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageSize - 1)).encode() : null;
+        return new Page<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+
+    public static int pageSize(Integer limit, int defaultLimit, int maxLimit) {
+        if (limit == null)
+            return defaultLimit;
+        if (limit < 1 || limit > maxLimit)
+            throw new FunctionalException(400, "limit must be between 1 and " + maxLimit);
+        return limit;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.ubo.ecommapi.util;
+
+import com.example.ubo.ecommapi.exceptions.FunctionalException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page: the sort it was read with, that row's sort key and its id.
+ * The id breaks ties between equal sort keys, so a row is never skipped nor repeated.
+ * Clients only see the opaque base64 form.
+ */
+public record PageCursor(String sort, String key, long id) {
+
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String raw = sort + SEPARATOR + id + (key != null ? SEPARATOR + key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur émis pour le tri donné ; retourne null pour la première page.
+     */
+    public static PageCursor decode(String cursor, String expectedSort) {
+        if (cursor == null || cursor.isEmpty())
+            return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // La clé de tri vient en dernier : elle peut elle-même contenir le séparateur
+            String[] parts = raw.split(SEPARATOR, 3);
+            if (parts.length < 2 || !parts[0].equals(expectedSort))
+                throw new FunctionalException(400, "Invalid cursor");
+            return new PageCursor(parts[0], parts.length == 3 ? parts[2] : null, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new FunctionalException(400, "Invalid cursor");
+        }
+    }
+}
@@ -17,9 +17,16 @@ CREATE TABLE articles (
                           stock INT NOT NULL DEFAULT 0,
                           category_id INT,
                           image_url VARCHAR(500),
-                          created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                          -- NOT NULL : clé de tri des listings (ArticleSort), le keyset ne sait pas placer un NULL
+                          created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
                           updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-                          FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE SET NULL
+                          FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE SET NULL,
+                          -- Listings triés et filtrés (ArticleRepository.pageQuery) : l'id termine chaque index pour le keyset
+                          INDEX idx_articles_price (price, id),
+                          INDEX idx_articles_created (created_at, id),
+                          INDEX idx_articles_updated (updated_at, id),
+                          INDEX idx_articles_category_price (category_id, price, id),
+                          INDEX idx_articles_category_created (category_id, created_at, id)
 ) ENGINE=InnoDB CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 CREATE TABLE cart_items (
@@ -0,0 +1,57 @@
+package com.example.ubo.ecommapi.business;
+
+import com.example.ubo.ecommapi.entity.ArticleEntity;
+import com.example.ubo.ecommapi.exceptions.FunctionalException;
+import dto.ecommapi.Article;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ArticleBusinessTest {
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @InjectMocks
+    private ArticleBusiness articleBusiness;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(articleBusiness, "maxPageSize", 100);
+    }
+
+    private static Article article(String id) {
+        return new Article().id(id).name("Article " + id);
+    }
+
+    @Test
+    public void testArticlesByIdsKeepTheRequestedOrder() {
+        when(catalogCache.getArticlesById()).thenReturn(Map.of("1", article("1"), "2", article("2"), "3", article("3")));
+
+        List<ArticleEntity> articles = articleBusiness.getArticlesByIds(List.of("3", "99", "1", "3"));
+
+        // Id inconnu ignoré, doublon renvoyé une seule fois
+        assertEquals(List.of("3", "1"), articles.stream().map(ArticleEntity::getId).toList());
+    }
+
+    @Test
+    public void testTooManyIdsAreRejected() {
+        List<String> ids = Collections.nCopies(101, "1");
+
+        FunctionalException exception = assertThrows(FunctionalException.class, () -> articleBusiness.getArticlesByIds(ids));
+        assertEquals(400, exception.getCode());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ubo.ecommapi.business;
+
+import com.example.ubo.ecommapi.entity.ArticleFilter;
+import dto.ecommapi.Article;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ArticleSearchIndexTest {
+
+    private static final ArticleFilter NO_FILTER = ArticleFilter.NONE;
+
+    private final CatalogCache catalogCache = mock(CatalogCache.class);
+    private final Map<String, Article> catalog = new HashMap<>();
+    private ArticleSearchIndex index;
+
+    private final List<Article> articles = List.of(
+            article("1", "Téléphone portable", "Smartphone 128GB", "1", "899.00", 3),
+            article("2", "Coque de téléphone", "Protection en silicone", "1", "19.99", 0),
+            article("3", "Chaise de bureau", "Support lombaire, idéale pour le télétravail", "3", "179.00", 15),
+            article("4", "Télévision OLED", "Écran 55 pouces", "1", "1299.00", 2));
+
+    private static Article article(String id, String name, String description, String categoryId, String price, int stock) {
+        return new Article().id(id).name(name).description(description).categoryId(categoryId)
+                .price(new BigDecimal(price)).stock(stock);
+    }
+
+    @BeforeEach
+    void setUp() {
+        articles.forEach(article -> catalog.put(article.getId(), article));
+        when(catalogCache.getArticlesById()).thenReturn(catalog);
+        index = new ArticleSearchIndex(catalogCache);
+        index.rebuild(articles);
+    }
+
+    private List<String> ids(List<Article> result) {
+        return result.stream().map(Article::getId).toList();
+    }
+
+    @Test
+    public void testAccentsAndCaseAreFolded() {
+        assertEquals(List.of("1", "2"), ids(index.search("TELEPHONE ", NO_FILTER, 10)));
+    }
+
+    @Test
+    public void testNameMatchesRankAboveDescriptionMatches() {
+        Article lamp = article("5", "Lampe", "Parfaite avec une chaise", "3", "30.00", 5);
+        catalog.put(lamp.getId(), lamp);
+        index.index(lamp);
+        assertEquals(List.of("3", "5"), ids(index.search("chaise ", NO_FILTER, 10)));
+    }
+
+    @Test
+    public void testLastTermIsAPrefix() {
+        assertEquals(List.of("4"), ids(index.search("télév", NO_FILTER, 10)));
+        assertEquals(List.of("3"), ids(index.search("bureau télétr", NO_FILTER, 10)));
+        assertEquals(List.of(), ids(index.search("télév ", NO_FILTER, 10)));
+    }
+
+    @Test
+    public void testFilters() {
+        assertEquals(List.of("1"), ids(index.search("telephone", new ArticleFilter(null, null, null, true, null), 10)));
+        assertEquals(List.of("2"), ids(index.search("telephone", new ArticleFilter("1", null, new BigDecimal("50"), false, null), 10)));
+        assertEquals(List.of(), ids(index.search("telephone", new ArticleFilter("3", null, null, false, null), 10)));
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+        index.index(article("2", "Étui en cuir", "Protection", "1", "29.99", 4));
+        assertEquals(List.of("1"), ids(index.search("telephone ", NO_FILTER, 10)));
+        assertEquals(List.of("2"), ids(index.search("etui", NO_FILTER, 10)));
+
+        index.remove("1");
+        assertEquals(List.of(), ids(index.search("telephone ", NO_FILTER, 10)));
+        assertEquals(3, index.size());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.ubo.ecommapi.business;
+
+import com.example.ubo.ecommapi.repository.ArticleRepository;
+import com.example.ubo.ecommapi.repository.CategoryRepository;
+import dto.ecommapi.Article;
+import dto.ecommapi.Category;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CatalogCacheTest {
+
+    private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private CatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(categoryRepository.getAllCategories()).thenReturn(List.of(category("1", "Tech"), category("2", "Maison")));
+        when(articleRepository.getAllArticles()).thenReturn(List.of(article("10", "1"), article("11", "1"), article("12", "2")));
+        cache = new CatalogCache(articleRepository, categoryRepository, meterRegistry, Duration.ofMinutes(5), now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    private static Category category(String id, String name) {
+        return new Category().id(id).name(name);
+    }
+
+    private static Article article(String id, String categoryId) {
+        return new Article().id(id).name("Article " + id).categoryId(categoryId);
+    }
+
+    @Test
+    public void testReadsAreServedFromASingleLoad() {
+        assertEquals(3, cache.getArticles().size());
+        assertEquals("11", cache.getArticle("11").getId());
+        assertEquals(2, cache.getArticlesByCategory("1").size());
+        assertEquals(2, cache.getCategories().size());
+        assertNull(cache.getArticle("99"));
+
+        verify(articleRepository, times(1)).getAllArticles();
+        verify(categoryRepository, times(1)).getAllCategories();
+        assertEquals(1.0, meterRegistry.get("catalog.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(4.0, meterRegistry.get("catalog.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    public void testWritesUpdateTheSnapshot() {
+        cache.getArticles();
+
+        cache.putArticle(article("13", "2"));
+        cache.putArticle(article("10", "2").name("Renamed"));
+        cache.removeArticle("11");
+
+        assertEquals(List.of("10", "12", "13"), cache.getArticles().stream().map(Article::getId).toList());
+        assertEquals("Renamed", cache.getArticle("10").getName());
+        assertEquals(List.of(), cache.getArticlesByCategory("1"));
+        assertEquals(3, cache.getArticlesByCategory("2").size());
+        verify(articleRepository, times(1)).getAllArticles();
+    }
+
+    @Test
+    public void testRemovingACategoryDetachesItsArticles() {
+        cache.getArticles();
+
+        cache.removeCategory("1");
+
+        assertEquals(1, cache.getCategories().size());
+        assertNull(cache.getArticle("10").getCategoryId());
+        assertEquals(List.of(), cache.getArticlesByCategory("1"));
+    }
+
+    @Test
+    public void testVersionChangesWithContentOnly() {
+        CatalogCache.Version initial = cache.getArticlesVersion();
+        CatalogCache.Version categories = cache.getCategoriesVersion();
+        now.addAndGet(1000);
+
+        // Réécriture à l'identique : mêmes validateurs, le client garde son cache
+        cache.putArticle(article("10", "1"));
+        assertEquals(initial, cache.getArticlesVersion());
+
+        cache.putArticle(article("10", "1").name("Renamed"));
+        CatalogCache.Version renamed = cache.getArticlesVersion();
+        assertNotEquals(initial.tag(), renamed.tag());
+        assertEquals(initial.lastModified() + 1000, renamed.lastModified());
+        assertEquals(categories, cache.getCategoriesVersion());
+    }
+
+    @Test
+    public void testStaleSnapshotIsServedWhileReloading() {
+        cache.getArticles();
+        when(articleRepository.getAllArticles()).thenReturn(List.of(article("10", "1")));
+        now.addAndGet(Duration.ofMinutes(6).toMillis());
+
+        // Lecture périmée : l'ancien instantané est servi, le rechargement part en arrière-plan
+        assertEquals(3, cache.getArticles().size());
+
+        verify(articleRepository, timeout(1000).times(2)).getAllArticles();
+        long deadline = System.currentTimeMillis() + 1000;
+        while (cache.getArticles().size() != 1 && System.currentTimeMillis() < deadline)
+            Thread.onSpinWait();
+        assertEquals(1, cache.getArticles().size());
+        assertTrue(meterRegistry.get("catalog.cache.requests").tag("result", "stale").counter().count() >= 1);
+    }
+
+    @Test
+    public void testReloadListenerRunsBeforeLaterWrites() throws InterruptedException {
+        cache.getArticles();
+        when(articleRepository.getAllArticles()).thenReturn(List.of(article("10", "1")));
+        AtomicBoolean heldLock = new AtomicBoolean();
+        CountDownLatch reloaded = new CountDownLatch(1);
+        cache.onReload(articles -> {
+            heldLock.set(Thread.holdsLock(cache));
+            reloaded.countDown();
+        });
+        now.addAndGet(Duration.ofMinutes(6).toMillis());
+
+        cache.getArticles();
+
+        assertTrue(reloaded.await(1, TimeUnit.SECONDS));
+        // Une écriture admin attend la fin de la reconstruction de l'index au lieu d'être écrasée par elle
+        assertTrue(heldLock.get());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ubo.ecommapi.business;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.ecommapi.Category;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CatalogPayloadCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CatalogPayloadCache cache =
+            new CatalogPayloadCache(objectMapper, new SimpleMeterRegistry(), true, DataSize.ofMegabytes(1));
+
+    private static List<Category> categories() {
+        return List.of(new Category().id("1").name("Tech"), new Category().id("2").name("Maison"));
+    }
+
+    @Test
+    public void testBodyIsSerializedOncePerVersion() {
+        AtomicInteger builds = new AtomicInteger();
+        CatalogCache.Version version = new CatalogCache.Version("abc-2", 0);
+
+        CatalogPayloadCache.Payload first = cache.get(version, "categories", () -> {
+            builds.incrementAndGet();
+            return categories();
+        });
+        CatalogPayloadCache.Payload second = cache.get(version, "categories", () -> {
+            builds.incrementAndGet();
+            return categories();
+        });
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+
+        // Une écriture change la version : le corps est reconstruit
+        cache.get(new CatalogCache.Version("def-2", 0), "categories", () -> {
+            builds.incrementAndGet();
+            return categories();
+        });
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    public void testGzipVariantHoldsTheSameBody() throws IOException {
+        CatalogPayloadCache.Payload payload = cache.get(new CatalogCache.Version("abc-2", 0), "categories", CatalogPayloadCacheTest::categories);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(categories()), payload.json());
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(payload.gzip()))) {
+            assertArrayEquals(payload.json(), input.readAllBytes());
+        }
+    }
+}
@@ -20,6 +20,9 @@ public class CategoryBusinessTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CatalogCache catalogCache;
+
     @InjectMocks
     private CategoryBusiness categoryBusiness;
 
@@ -0,0 +1,67 @@
+package com.example.ubo.ecommapi.configuration;
+
+import com.example.ubo.ecommapi.repository.CategoryRepository;
+import dto.ecommapi.Category;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RepositoryMetricsConfigTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BeanPostProcessor postProcessor = RepositoryMetricsConfig.repositoryMetrics(registryProvider());
+
+    private ObjectProvider<MeterRegistry> registryProvider() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        return beanFactory.getBeanProvider(MeterRegistry.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRepositoryCallIsTimedWithRowCount() {
+        NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class)))
+                .thenReturn(List.of(new Category().name("Tech"), new Category().name("Maison")));
+        CategoryRepository repository = (CategoryRepository) postProcessor
+                .postProcessAfterInitialization(new CategoryRepository(jdbcTemplate), "categoryRepository");
+
+        assertEquals(2, repository.getAllCategories().size());
+
+        assertEquals(1, meterRegistry.get("repository.calls")
+                .tag("repository", "CategoryRepository")
+                .tag("method", "getAllCategories")
+                .tag("outcome", "success")
+                .timer().count());
+        assertEquals(2.0, meterRegistry.get("repository.rows")
+                .tag("method", "getAllCategories")
+                .summary().totalAmount());
+    }
+
+    @Test
+    public void testOtherBeansAreNotProxied() {
+        Object bean = new Object();
+        assertSame(bean, postProcessor.postProcessAfterInitialization(bean, "other"));
+    }
+
+    @Test
+    public void testRowCount() {
+        assertEquals(3, RepositoryMetricsConfig.rowCount(new int[]{1, 2, -2}));
+        assertEquals(0, RepositoryMetricsConfig.rowCount(null));
+        assertEquals(-1, RepositoryMetricsConfig.rowCount(Boolean.TRUE));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.ubo.ecommapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dto.ecommapi.Category;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Consumer<Consumer<Category>> categories(int count) {
+        return action -> IntStream.range(0, count)
+                .forEach(i -> action.accept(new Category().id(String.valueOf(i)).name("Category " + i)));
+    }
+
+    @Test
+    public void testItemsAreWrittenAsAJsonArrayInChunks() throws IOException {
+        int[] flushes = {0};
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes[0]++;
+            }
+        };
+
+        Streams.jsonArray(objectMapper, categories(450)).write(output);
+
+        JsonNode array = objectMapper.readTree(output.toByteArray());
+        assertEquals(450, array.size());
+        assertEquals("449", array.get(449).get("id").asText());
+        // Un envoi par tranche de FLUSH_EVERY éléments, avant la fin du tableau
+        assertTrue(flushes[0] >= 450 / Streams.FLUSH_EVERY);
+    }
+
+    @Test
+    public void testEmptySourceWritesAnEmptyArray() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        Streams.jsonArray(objectMapper, categories(0)).write(output);
+
+        assertEquals("[]", output.toString());
+    }
+
+    @Test
+    public void testClientDisconnectionStopsTheSource() {
+        int[] produced = {0};
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> Streams.jsonArray(objectMapper, action -> {
+            for (int i = 0; i < 10_000; i++) {
+                produced[0]++;
+                action.accept(new Category().id(String.valueOf(i)));
+            }
+        }).write(broken));
+        assertTrue(produced[0] < 10_000);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ubo.ecommapi.filters;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.PreMatching;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry);
+    private final ContainerRequestContext request = mock(ContainerRequestContext.class);
+    private final Map<String, Object> properties = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getProperty(anyString())).thenAnswer(invocation -> properties.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> properties.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request).setProperty(anyString(), any());
+    }
+
+    @Test
+    public void testRunsBeforeMatching() {
+        assertTrue(RequestMetricsFilter.class.isAnnotationPresent(PreMatching.class));
+    }
+
+    @Test
+    public void testAbortedRequestIsRecorded() {
+        ContainerResponseContext response = mock(ContainerResponseContext.class);
+        when(response.getStatus()).thenReturn(401);
+
+        // Filtre d'authentification qui interrompt la requête : aucune méthode de ressource n'est appelée
+        filter.filter(request);
+        filter.filter(request, response);
+
+        Timer timer = meterRegistry.get("jersey.requests")
+                .tag("resource", RequestMetricsFilter.UNKNOWN)
+                .tag("status", "401")
+                .tag("outcome", "CLIENT_ERROR")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.ubo.ecommapi.repository;
+
+import com.example.ubo.ecommapi.entity.ArticleFilter;
+import com.example.ubo.ecommapi.entity.ArticleSort;
+import com.example.ubo.ecommapi.util.PageCursor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Checks with EXPLAIN that the listings built by ArticleRepository.pageQuery are served by the
+ * composite indexes of data.sql. Runs against the MariaDB server of DB_URI, in a scratch
+ * database seeded with enough rows for the optimizer to prefer the indexes over a table scan.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "DB_URI", matches = "jdbc:mariadb:.+")
+public class ArticleRepositoryPlanTest {
+    private static final String DATABASE = "ecomm_plan_test";
+    private static final int ARTICLES = 200_000;
+
+    private SingleConnectionDataSource dataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        dataSource = new SingleConnectionDataSource(System.getenv("DB_URI"),
+                System.getenv().getOrDefault("DB_USER", "root"),
+                System.getenv().getOrDefault("DB_PASS", "rootpassword"), true);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE OR REPLACE DATABASE " + DATABASE);
+        jdbc.execute("USE " + DATABASE);
+        new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(dataSource);
+        // Moteur SEQUENCE de MariaDB : génération des lignes côté serveur, en une requête
+        jdbc.execute("INSERT INTO articles (name, description, price, stock, category_id, created_at, updated_at) "
+                + "SELECT CONCAT('Article ', seq), 'Seed', (seq % 5000) / 10 + 0.99, seq % 7, seq % 4 + 1, "
+                + "NOW() - INTERVAL seq MINUTE, NOW() - INTERVAL seq MINUTE "
+                + "FROM seq_1_to_" + ARTICLES);
+        jdbc.execute("ANALYZE TABLE articles");
+        jdbcTemplate = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    @AfterAll
+    void drop() {
+        if (dataSource != null) {
+            new JdbcTemplate(dataSource).execute("DROP DATABASE IF EXISTS " + DATABASE);
+            dataSource.destroy();
+        }
+    }
+
+    private Map<String, Object> plan(ArticleFilter filter, ArticleSort sort, PageCursor after) {
+        ArticleRepository.PageQuery query = ArticleRepository.pageQuery(filter, sort, after, 21);
+        return jdbcTemplate.queryForList("EXPLAIN " + query.sql(), query.params()).get(0);
+    }
+
+    private void assertUsesIndex(String index, Map<String, Object> plan) {
+        assertEquals(index, plan.get("key"), () -> "Unexpected plan " + plan);
+        assertNotEquals("ALL", plan.get("type"), () -> "Full scan in plan " + plan);
+        String extra = String.valueOf(plan.get("Extra"));
+        assertFalse(extra.contains("filesort"), () -> "Sort not served by the index in plan " + plan);
+    }
+
+    @Test
+    public void testPriceSortUsesPriceIndex() {
+        assertUsesIndex("idx_articles_price", plan(ArticleFilter.NONE, ArticleSort.PRICE, null));
+        assertUsesIndex("idx_articles_price",
+                plan(ArticleFilter.NONE, ArticleSort.PRICE_DESC, new PageCursor("-price", "250.99", 1234)));
+    }
+
+    @Test
+    public void testNewestFirstUsesCreatedIndex() {
+        assertUsesIndex("idx_articles_created", plan(ArticleFilter.NONE, ArticleSort.NEWEST,
+                new PageCursor("-createdAt", OffsetDateTime.now().minusDays(30).toString(), 50_000)));
+    }
+
+    @Test
+    public void testCategoryWithSortUsesCompositeIndexes() {
+        ArticleFilter category = new ArticleFilter("2", null, null, false, null);
+        assertUsesIndex("idx_articles_category_price", plan(category, ArticleSort.PRICE, null));
+        assertUsesIndex("idx_articles_category_created", plan(category, ArticleSort.NEWEST, null));
+    }
+
+    @Test
+    public void testPriceRangeUsesCompositeIndex() {
+        ArticleFilter range = new ArticleFilter("3", new BigDecimal("10"), new BigDecimal("20"), true, null);
+        assertUsesIndex("idx_articles_category_price", plan(range, ArticleSort.PRICE, null));
+    }
+
+    @Test
+    public void testRecentlyUpdatedUsesUpdatedIndex() {
+        ArticleFilter recent = new ArticleFilter(null, null, null, false, OffsetDateTime.now().minusHours(2));
+        Map<String, Object> plan = plan(recent, ArticleSort.ID, null);
+        assertEquals("idx_articles_updated", plan.get("key"), () -> "Unexpected plan " + plan);
+    }
+}
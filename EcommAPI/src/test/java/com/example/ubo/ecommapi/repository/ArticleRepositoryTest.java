@@ -0,0 +1,40 @@
+package com.example.ubo.ecommapi.repository;
+
+import com.example.ubo.ecommapi.entity.ArticleFilter;
+import com.example.ubo.ecommapi.entity.ArticleSort;
+import com.example.ubo.ecommapi.exceptions.FunctionalException;
+import com.example.ubo.ecommapi.util.PageCursor;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ArticleRepositoryTest {
+
+    @Test
+    public void testFirstPageById() {
+        ArticleRepository.PageQuery query = ArticleRepository.pageQuery(ArticleFilter.NONE, ArticleSort.ID, null, 21);
+        assertEquals("SELECT * FROM articles ORDER BY id LIMIT :limit", query.sql());
+        assertEquals(21, query.params().getValue("limit"));
+    }
+
+    @Test
+    public void testFiltersAndKeysetAreParameterized() {
+        ArticleFilter filter = new ArticleFilter("2", new BigDecimal("10"), null, true, null);
+        ArticleRepository.PageQuery query = ArticleRepository.pageQuery(filter, ArticleSort.PRICE_DESC,
+                new PageCursor("-price", "19.99", 42), 11);
+
+        assertEquals("SELECT * FROM articles WHERE category_id = :categoryId AND price >= :minPrice AND stock > 0"
+                + " AND (price < :afterKey OR (price = :afterKey AND id < :afterId))"
+                + " ORDER BY price DESC, id DESC LIMIT :limit", query.sql());
+        assertEquals(new BigDecimal("19.99"), query.params().getValue("afterKey"));
+        assertEquals(42L, query.params().getValue("afterId"));
+    }
+
+    @Test
+    public void testUnknownSortIsRejected() {
+        assertThrows(FunctionalException.class, () -> ArticleSort.fromParam("name; DROP TABLE articles"));
+    }
+}
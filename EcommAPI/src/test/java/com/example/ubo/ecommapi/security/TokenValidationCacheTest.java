@@ -0,0 +1,87 @@
+package com.example.ubo.ecommapi.security;
+
+import com.example.ubo.ecommapi.clients.AuthApiClient;
+import dto.authapi.CheckResponse;
+import dto.authapi.RevocationFeed;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenValidationCacheTest {
+
+    @Mock
+    private AuthApiClient authApiClient;
+
+    private TokenValidationCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new TokenValidationCache(authApiClient, new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(5));
+    }
+
+    private static Claims claims(String tokenId, long expiresInMillis) {
+        return Jwts.claims()
+                .id(tokenId)
+                .expiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .build();
+    }
+
+    @Test
+    public void testCachedValidationIsReturned() {
+        CheckResponse response = new CheckResponse().valid(true).id("1");
+        cache.put("token", response, claims("jti-1", 60_000));
+
+        assertSame(response, cache.get("token"));
+        assertNull(cache.get("other-token"));
+    }
+
+    @Test
+    public void testExpiredTokenIsNotServed() {
+        cache.put("token", new CheckResponse().valid(true), claims("jti-1", -1_000));
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void testRevokedTokenIsDropped() {
+        cache.put("token", new CheckResponse().valid(true), claims("jti-1", 60_000));
+        RevocationFeed feed = new RevocationFeed();
+        feed.setTimestamp(System.currentTimeMillis());
+        feed.setTokenIds(List.of("jti-1"));
+        when(authApiClient.revocations(anyLong())).thenReturn(feed);
+
+        cache.pollRevocations();
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    public void testFeedIsReadFromAuthApiClock() {
+        RevocationFeed feed = new RevocationFeed();
+        // Horloge d'AuthAPI très en avance sur la nôtre : seul son timestamp compte
+        feed.setTimestamp(5_000_000_000_000L);
+        when(authApiClient.revocations(anyLong())).thenReturn(feed);
+
+        cache.pollRevocations();
+        cache.pollRevocations();
+
+        verify(authApiClient).revocations(0L);
+        verify(authApiClient).revocations(5_000_000_000_000L - 5_000);
+    }
+}
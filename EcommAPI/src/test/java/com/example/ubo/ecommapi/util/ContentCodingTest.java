@@ -0,0 +1,31 @@
+package com.example.ubo.ecommapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ContentCodingTest {
+
+    @Test
+    public void testListedCodingIsAccepted() {
+        assertTrue(ContentCoding.accepts("gzip, deflate, br", ContentCoding.GZIP));
+        assertTrue(ContentCoding.accepts("br;q=1.0, GZIP;q=0.5", ContentCoding.GZIP));
+        assertFalse(ContentCoding.accepts("br", ContentCoding.GZIP));
+        assertFalse(ContentCoding.accepts(null, ContentCoding.GZIP));
+    }
+
+    @Test
+    public void testZeroQualityRefusesTheCoding() {
+        assertFalse(ContentCoding.accepts("gzip;q=0, deflate", ContentCoding.GZIP));
+        assertFalse(ContentCoding.accepts("gzip; q=0.0", ContentCoding.GZIP));
+    }
+
+    @Test
+    public void testWildcardCoversUnlistedCodings() {
+        assertTrue(ContentCoding.accepts("*", ContentCoding.DEFLATE));
+        assertFalse(ContentCoding.accepts("*;q=0", ContentCoding.DEFLATE));
+        // Un codage nommé l'emporte sur le joker
+        assertFalse(ContentCoding.accepts("gzip;q=0, *", ContentCoding.GZIP));
+    }
+}
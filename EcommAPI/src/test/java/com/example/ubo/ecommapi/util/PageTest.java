@@ -0,0 +1,49 @@
+package com.example.ubo.ecommapi.util;
+
+import com.example.ubo.ecommapi.exceptions.FunctionalException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PageTest {
+
+    @Test
+    public void testCursorRoundTrip() {
+        PageCursor cursor = new PageCursor("name", "Maison & Jardin: déco", 42);
+        assertEquals(cursor, PageCursor.decode(cursor.encode(), "name"));
+
+        PageCursor byId = new PageCursor("id", null, 7);
+        assertEquals(byId, PageCursor.decode(byId.encode(), "id"));
+        assertNull(PageCursor.decode(null, "id"));
+    }
+
+    @Test
+    public void testCursorOfAnotherSortIsRejected() {
+        String cursor = new PageCursor("price", "19.99", 3).encode();
+        assertThrows(FunctionalException.class, () -> PageCursor.decode(cursor, "id"));
+        assertThrows(FunctionalException.class, () -> PageCursor.decode("not a cursor!", "id"));
+    }
+
+    @Test
+    public void testExtraRowOnlySignalsANextPage() {
+        Page<String> page = Page.of(List.of(1L, 2L, 3L), 2, id -> new PageCursor("id", null, id), String::valueOf);
+        assertEquals(List.of("1", "2"), page.items());
+        assertEquals(2, PageCursor.decode(page.nextCursor(), "id").id());
+
+        Page<String> last = Page.of(List.of(3L), 2, id -> new PageCursor("id", null, id), String::valueOf);
+        assertEquals(List.of("3"), last.items());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    public void testPageSize() {
+        assertEquals(20, Page.pageSize(null, 20, 100));
+        assertEquals(5, Page.pageSize(5, 20, 100));
+        assertThrows(FunctionalException.class, () -> Page.pageSize(0, 20, 100));
+        assertThrows(FunctionalException.class, () -> Page.pageSize(101, 20, 100));
+    }
+}
@@ -6,5 +6,6 @@ export const API_CONFIG = {
 
 export const STORAGE_KEYS = {
   AUTH_TOKEN: '@ecomm_auth_token',
+  REFRESH_TOKEN: '@ecomm_refresh_token',
   USER_DATA: '@ecomm_user_data',
 };
@@ -1,6 +1,6 @@
 import React, { createContext, useState, useEffect, useContext } from 'react';
 import AsyncStorage from '@react-native-async-storage/async-storage';
-import { authService } from '../services/authService';
+import { authService, clearStoredAuth } from '../services/authService';
 import { STORAGE_KEYS } from '../constants/api';
 import { User } from '../models/User';
 
@@ -26,7 +26,8 @@ export const AuthProvider = ({ children }) => {
           // But interceptor reads from storage so it should be fine.
           const verifyResponse = await authService.checkToken();
           if (verifyResponse.valid) {
-            setToken(storedToken);
+            // Le token a pu être renouvelé par checkToken pendant la vérification
+            setToken(await AsyncStorage.getItem(STORAGE_KEYS.AUTH_TOKEN));
             // Construct user object from verify response
             const userData = {
               id: verifyResponse.id,
@@ -37,8 +38,10 @@ export const AuthProvider = ({ children }) => {
             // Update stored user data
             await AsyncStorage.setItem(STORAGE_KEYS.USER_DATA, JSON.stringify(userData));
           } else {
-            // Token invalid
-            await logout();
+            // Refresh token refusé aussi : la session est déjà fermée côté serveur, on nettoie localement
+            await clearStoredAuth();
+            setToken(null);
+            setUser(null);
           }
         } catch (verifyError) {
           console.log('Token verification failed:', verifyError);
@@ -58,6 +61,7 @@ export const AuthProvider = ({ children }) => {
 
       if (response.success && response.token) {
         await AsyncStorage.setItem(STORAGE_KEYS.AUTH_TOKEN, response.token);
+        await AsyncStorage.setItem(STORAGE_KEYS.REFRESH_TOKEN, response.refreshToken);
 
         // Now fetch full user details including admin status
         try {
@@ -127,8 +131,7 @@ export const AuthProvider = ({ children }) => {
     } catch (error) {
       console.error('Logout error:', error);
     } finally {
-      await AsyncStorage.removeItem(STORAGE_KEYS.AUTH_TOKEN);
-      await AsyncStorage.removeItem(STORAGE_KEYS.USER_DATA);
+      await clearStoredAuth();
       setToken(null);
       setUser(null);
     }
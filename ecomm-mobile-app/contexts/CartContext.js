@@ -23,21 +23,23 @@ export const CartProvider = ({ children }) => {
     try {
       setLoading(true);
       const items = await cartService.getCart();
-      
-      const enrichedItems = await Promise.all(
-        items.map(async (item) => {
-          try {
-            const articleData = await articleService.getById(item.articleId);
-            return new CartItem({
-              ...item,
-              article: new Article(articleData),
-            });
-          } catch (error) {
-            return new CartItem(item);
-          }
-        })
-      );
-      
+
+      // Articles du panier chargés en une requête plutôt qu'une par ligne
+      let articles = [];
+      try {
+        articles = await articleService.getByIds([...new Set(items.map((item) => item.articleId))]);
+      } catch (error) {
+        console.error('Error loading cart articles:', error);
+      }
+      const articlesById = new Map(articles.map((article) => [article.id, article]));
+
+      const enrichedItems = items.map((item) => {
+        const articleData = articlesById.get(item.articleId);
+        return articleData
+          ? new CartItem({ ...item, article: new Article(articleData) })
+          : new CartItem(item);
+      });
+
       setCartItems(enrichedItems);
     } catch (error) {
       console.error('Error loading cart:', error);
@@ -21,15 +21,70 @@ authApiClient.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
-authApiClient.interceptors.response.use(
-  (response) => response,
-  async (error) => {
-    if (error.response?.status === 401) {
-      await AsyncStorage.removeItem(STORAGE_KEYS.AUTH_TOKEN);
-      await AsyncStorage.removeItem(STORAGE_KEYS.USER_DATA);
+// Un seul renouvellement à la fois : les requêtes qui échouent ensemble attendent le même
+let refreshPromise = null;
+
+// Renvoie le nouveau token d'accès, ou null si le refresh token est refusé (session terminée)
+export const refreshTokens = () => {
+  if (!refreshPromise) {
+    refreshPromise = (async () => {
+      const refreshToken = await AsyncStorage.getItem(STORAGE_KEYS.REFRESH_TOKEN);
+      if (!refreshToken) {
+        return null;
+      }
+      try {
+        // axios nu : pas d'intercepteur, donc pas de boucle sur un 401
+        const response = await axios.post(`${API_CONFIG.AUTH_API_URL}/refresh`, { refreshToken }, {
+          timeout: API_CONFIG.TIMEOUT,
+        });
+        await AsyncStorage.setItem(STORAGE_KEYS.AUTH_TOKEN, response.data.token);
+        await AsyncStorage.setItem(STORAGE_KEYS.REFRESH_TOKEN, response.data.refreshToken);
+        return response.data.token;
+      } catch (error) {
+        if (error.response?.status === 401) {
+          return null;
+        }
+        throw error;
+      }
+    })().finally(() => {
+      refreshPromise = null;
+    });
+  }
+  return refreshPromise;
+};
+
+export const clearStoredAuth = async () => {
+  await AsyncStorage.removeItem(STORAGE_KEYS.AUTH_TOKEN);
+  await AsyncStorage.removeItem(STORAGE_KEYS.REFRESH_TOKEN);
+  await AsyncStorage.removeItem(STORAGE_KEYS.USER_DATA);
+};
+
+// Sur un 401, renouvelle le token d'accès (durée de vie de quelques minutes) et rejoue la requête une fois
+export const retryWithRefresh = (client) => async (error) => {
+  const request = error.config;
+  if (error.response?.status === 401 && request && !request._retried && !request.url?.endsWith('/signin')) {
+    request._retried = true;
+    let token;
+    try {
+      token = await refreshTokens();
+    } catch (refreshError) {
+      // Erreur réseau : on garde la session, la requête échoue simplement
+      return Promise.reject(error);
     }
-    return Promise.reject(error);
+    if (token) {
+      request.headers.Authentication = token;
+      return client(request);
+    }
+  }
+  if (error.response?.status === 401) {
+    await clearStoredAuth();
   }
+  return Promise.reject(error);
+};
+
+authApiClient.interceptors.response.use(
+  (response) => response,
+  retryWithRefresh(authApiClient)
 );
 
 export const authService = {
@@ -48,7 +103,16 @@ export const authService = {
 
   async checkToken() {
     const response = await authApiClient.get('/verify-token');
-    return response.data;
+    if (response.data.valid) {
+      return response.data;
+    }
+    // Un token expiré est répondu en 200 {valid:false}, l'intercepteur ne le renouvelle pas : on le fait ici
+    const token = await refreshTokens();
+    if (!token) {
+      return response.data;
+    }
+    const retried = await authApiClient.get('/verify-token');
+    return retried.data;
   },
 
   async logout() {
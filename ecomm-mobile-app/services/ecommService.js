@@ -1,6 +1,10 @@
 import axios from 'axios';
 import AsyncStorage from '@react-native-async-storage/async-storage';
 import { API_CONFIG, STORAGE_KEYS } from '../constants/api';
+import { retryWithRefresh } from './authService';
+
+// GET /articles?ids= refuse plus d'ids que catalog.page.max-limit côté serveur
+const MAX_IDS_PER_REQUEST = 100;
 
 const ecommApiClient = axios.create({
   baseURL: API_CONFIG.ECOMM_API_URL,
@@ -23,13 +27,7 @@ ecommApiClient.interceptors.request.use(
 
 ecommApiClient.interceptors.response.use(
   (response) => response,
-  async (error) => {
-    if (error.response?.status === 401) {
-      await AsyncStorage.removeItem(STORAGE_KEYS.AUTH_TOKEN);
-      await AsyncStorage.removeItem(STORAGE_KEYS.USER_DATA);
-    }
-    return Promise.reject(error);
-  }
+  retryWithRefresh(ecommApiClient)
 );
 
 export const categoryService = {
@@ -70,6 +68,25 @@ export const articleService = {
     return response.data;
   },
 
+  // Un appel par paquet de 100 ids (limite du serveur), articles renvoyés dans l'ordre des ids
+  async getByIds(ids) {
+    if (ids.length === 0) return [];
+    const chunks = [];
+    for (let i = 0; i < ids.length; i += MAX_IDS_PER_REQUEST) {
+      chunks.push(ids.slice(i, i + MAX_IDS_PER_REQUEST));
+    }
+    const responses = await Promise.all(chunks.map(chunk =>
+      ecommApiClient.get('/articles', { params: { ids: chunk.join(',') } })
+    ));
+    return responses.flatMap(response => response.data);
+  },
+
+  // Recherche côté serveur : { categoryId, minPrice, maxPrice, inStock, limit } optionnels
+  async search(q, filters = {}) {
+    const response = await ecommApiClient.get('/articles/search', { params: { q, ...filters } });
+    return response.data;
+  },
+
   async create(data) {
     const response = await ecommApiClient.post('/admin/articles', data);
     return response.data;
@@ -0,0 +1,55 @@
+// Charge mixte catalogue + panier : compare les modes threads plateforme et threads virtuels.
+// k6 run -e MODE=platform --summary-export results/platform.json loadtest/catalog-and-cart.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const AUTH_URL = __ENV.AUTH_URL || 'http://localhost:8080/api/v1';
+const ECOMM_URL = __ENV.ECOMM_URL || 'http://localhost:8081/api/v1';
+const RATE = parseInt(__ENV.RATE || '400');
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+  scenarios: {
+    // Débit constant : un service saturé se voit à la latence et aux itérations abandonnées
+    shoppers: {
+      executor: 'constant-arrival-rate',
+      rate: RATE,
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: RATE,
+      maxVUs: RATE * 4,
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+  tags: { mode: __ENV.MODE || 'unknown' },
+};
+
+export function setup() {
+  const username = `load-${Date.now()}`;
+  const credentials = { username, password: 'load-test-password' };
+  http.post(`${AUTH_URL}/register`, JSON.stringify({
+    ...credentials,
+    email: `${username}@example.com`,
+    firstName: 'Load',
+    lastName: 'Test',
+  }), { headers: { 'Content-Type': 'application/json' } });
+  const login = http.post(`${AUTH_URL}/login`, JSON.stringify(credentials),
+    { headers: { 'Content-Type': 'application/json' } });
+  check(login, { 'logged in': (r) => r.status === 200 });
+  return { token: login.json('token') };
+}
+
+export default function (data) {
+  const auth = { headers: { Authentication: data.token }, tags: { name: 'cart' } };
+  const pick = Math.random();
+  let res;
+  if (pick < 0.5)
+    res = http.get(`${ECOMM_URL}/articles`, { tags: { name: 'articles' } });
+  else if (pick < 0.7)
+    res = http.get(`${ECOMM_URL}/categories`, { tags: { name: 'categories' } });
+  else
+    res = http.get(`${ECOMM_URL}/cart`, auth);
+  check(res, { 'status 200': (r) => r.status === 200 });
+}